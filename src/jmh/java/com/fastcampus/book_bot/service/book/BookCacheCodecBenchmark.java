@@ -0,0 +1,123 @@
+package com.fastcampus.book_bot.service.book;
+
+import com.fastcampus.book_bot.domain.book.Book;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 도서 캐시 코덱 벤치마크 (HASH vs PACKED)
+ * - 인코딩/디코딩 비용 측정
+ * - 값 크기(바이트)는 Setup 단계에서 출력
+ * - BENCH_REDIS_URI 환경 변수가 있으면 실제 Redis에 샘플을 저장해 MEMORY USAGE 평균 비교
+ *   (예: BENCH_REDIS_URI=redis://localhost:6379 ./gradlew jmh)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookCacheCodecBenchmark {
+
+    private static final int MEMORY_SAMPLE_BOOKS = 1_000;
+
+    private final BookCacheCodec hashCodec = new BookCacheCodec(BookCacheCodec.Format.HASH);
+    private final BookCacheCodec packedCodec = new BookCacheCodec(BookCacheCodec.Format.PACKED);
+
+    private Book book;
+    private Map<byte[], byte[]> hashFields;
+    private Map<byte[], byte[]> packedFields;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        book = sampleBook(12_345);
+        hashFields = hashCodec.encode(book);
+        packedFields = packedCodec.encode(book);
+
+        System.out.printf("%n[값 크기] HASH: %d bytes (%d fields), PACKED: %d bytes (%d fields)%n",
+                payloadBytes(hashFields), hashFields.size(), payloadBytes(packedFields), packedFields.size());
+
+        String redisUri = System.getenv("BENCH_REDIS_URI");
+        if (redisUri != null && !redisUri.isBlank()) {
+            measureRedisMemory(redisUri);
+        }
+    }
+
+    @Benchmark
+    public Map<byte[], byte[]> encodeHash() {
+        return hashCodec.encode(book);
+    }
+
+    @Benchmark
+    public Map<byte[], byte[]> encodePacked() {
+        return packedCodec.encode(book);
+    }
+
+    @Benchmark
+    public Book decodeHash() {
+        return hashCodec.decode(hashFields);
+    }
+
+    @Benchmark
+    public Book decodePacked() {
+        return packedCodec.decode(packedFields);
+    }
+
+    private void measureRedisMemory(String redisUri) {
+        RedisClient client = RedisClient.create(redisUri);
+        try (StatefulRedisConnection<byte[], byte[]> connection = client.connect(ByteArrayCodec.INSTANCE)) {
+            RedisCommands<byte[], byte[]> commands = connection.sync();
+
+            long hashBytes = 0;
+            long packedBytes = 0;
+            for (int i = 1; i <= MEMORY_SAMPLE_BOOKS; i++) {
+                Book sample = sampleBook(i);
+                hashBytes += memoryUsage(commands, "bench:book:hash:" + i, hashCodec.encode(sample));
+                packedBytes += memoryUsage(commands, "bench:book:packed:" + i, packedCodec.encode(sample));
+            }
+
+            System.out.printf("[Redis MEMORY USAGE 평균] HASH: %d bytes/book, PACKED: %d bytes/book%n",
+                    hashBytes / MEMORY_SAMPLE_BOOKS, packedBytes / MEMORY_SAMPLE_BOOKS);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private long memoryUsage(RedisCommands<byte[], byte[]> commands, String key, Map<byte[], byte[]> fields) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        commands.hset(keyBytes, fields);
+        Long usage = commands.memoryUsage(keyBytes);
+        commands.del(keyBytes);
+        return usage != null ? usage : 0;
+    }
+
+    private static long payloadBytes(Map<byte[], byte[]> fields) {
+        return fields.entrySet().stream()
+                .mapToLong(entry -> entry.getKey().length + entry.getValue().length)
+                .sum();
+    }
+
+    private static Book sampleBook(int bookId) {
+        return Book.builder()
+                .bookId(bookId)
+                .bookName("객체지향의 사실과 오해 - 역할, 책임, 협력 관점에서 본 객체지향 " + bookId)
+                .bookAuthor("조영호")
+                .bookPublisher("위키북스")
+                .bookImagePath("https://shopping-phinf.pstatic.net/main_3245/" + bookId + ".jpg")
+                .bookIsbn("97889" + String.format("%08d", bookId))
+                .bookDiscount(18_000 + bookId % 10 * 500)
+                .bookQuantity(30 + bookId % 21)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.fastcampus.book_bot.service.grade;
+
+import com.fastcampus.book_bot.dto.grade.GradeInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등급 할인 계산 벤치마크 (BigDecimal vs 고정소수점)
+ * - 장바구니 항목별 할인가/적립금 계산 비용을 항목 수별로 측정
+ * - 할당량 비교는 build.gradle jmh 블록에 profilers = ['gc'] 추가 후 실행
+ * - Setup 단계에서 두 전략의 결과가 같은지 무작위 금액으로 검증
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GradeStrategyBenchmark {
+
+    private static final int VERIFY_SAMPLES = 1_000_000;
+
+    @Param({"1", "10", "50", "100"})
+    private int cartLines;
+
+    private final GradeInfo gradeInfo = GradeInfo.builder()
+            .gradeName("GOLD")
+            .minUsage(300_000)
+            .orderCount(5)
+            .discount(new BigDecimal("0.050000"))
+            .mileageRate(new BigDecimal("0.050000"))
+            .build();
+
+    private final GradeStrategy bigDecimalStrategy = new RedisGradeStrategy(gradeInfo);
+    private final GradeStrategy fixedPointStrategy = new FixedPointGradeStrategy(gradeInfo);
+
+    private int[] lineAmounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        lineAmounts = new int[cartLines];
+        for (int i = 0; i < cartLines; i++) {
+            lineAmounts[i] = (8_000 + random.nextInt(40) * 500) * (1 + random.nextInt(3));
+        }
+
+        for (int i = 0; i < VERIFY_SAMPLES; i++) {
+            int amount = random.nextInt(10_000_000);
+            if (bigDecimalStrategy.calculateDiscountedPrice(amount) != fixedPointStrategy.calculateDiscountedPrice(amount)
+                    || bigDecimalStrategy.calculateMileage(amount) != fixedPointStrategy.calculateMileage(amount)) {
+                throw new IllegalStateException("계산 결과 불일치 - 금액: " + amount);
+            }
+        }
+    }
+
+    @Benchmark
+    public long bigDecimal() {
+        return quote(bigDecimalStrategy);
+    }
+
+    @Benchmark
+    public long fixedPoint() {
+        return quote(fixedPointStrategy);
+    }
+
+    private long quote(GradeStrategy strategy) {
+        long payable = 0;
+        long mileage = 0;
+        for (int amount : lineAmounts) {
+            payable += strategy.calculateDiscountedPrice(amount);
+            mileage += strategy.calculateMileage(amount);
+        }
+        return payable + strategy.calculateShippingCost((int) payable) + mileage;
+    }
+}
@@ -0,0 +1,148 @@
+package com.fastcampus.book_bot.service.stock;
+
+import com.fastcampus.book_bot.BookBotApplication;
+import com.fastcampus.book_bot.domain.book.Book;
+import com.fastcampus.book_bot.repository.BookRepository;
+import com.fastcampus.book_bot.service.book.BookCacheService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재고 차감 전략 동시성 벤치마크 (전략별 처리량)
+ * - BENCH_DB_URL의 일회용 스키마(Flyway로 생성)와 BENCH_REDIS_DATABASE(기본 15번)로 애플리케이션 컨텍스트 실행
+ * - 벤치마크 전용 도서를 새로 만들어 사용하고 종료 시 삭제 (기존 도서 행/캐시는 건드리지 않음)
+ * - 32개 스레드가 주문 트랜잭션 안에서 1권씩 차감, 종료 시 성공/거절/오류 건수와 재고 불일치(갱신 유실) 출력
+ *   (예: BENCH_DB_URL=jdbc:mysql://localhost:3306/book_bot_bench BENCH_DB_PASSWORD=... ./gradlew jmh)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class StockStrategyBenchmark {
+
+    private static final int INITIAL_STOCK = 10_000_000;
+    private static final long WRITE_BEHIND_TIMEOUT_MS = 60_000;
+
+    @Param({"conditional", "pessimistic", "optimistic", "redis"})
+    private String strategyName;
+
+    private ConfigurableApplicationContext context;
+    private StockStrategy strategy;
+    private TransactionTemplate transactionTemplate;
+    private BookRepository bookRepository;
+    private BookCacheService bookCacheService;
+    private StringRedisTemplate stringRedisTemplate;
+
+    private Integer bookId;
+    private Map<Integer, Integer> order;
+
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String dbUrl = System.getenv("BENCH_DB_URL");
+        if (dbUrl == null || dbUrl.isBlank()) {
+            throw new IllegalStateException("BENCH_DB_URL(일회용 스키마)이 필요합니다.");
+        }
+
+        // 명령행 인자로 전달하여 외부 설정 파일의 접속 정보보다 우선 적용
+        context = new SpringApplicationBuilder(BookBotApplication.class)
+                .profiles("benchmark")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + dbUrl,
+                        "--spring.datasource.username=" + env("BENCH_DB_USERNAME", "root"),
+                        "--spring.datasource.password=" + env("BENCH_DB_PASSWORD", ""),
+                        "--spring.data.redis.host=" + env("BENCH_REDIS_HOST", "localhost"),
+                        "--spring.data.redis.port=" + env("BENCH_REDIS_PORT", "6379"),
+                        "--spring.data.redis.database=" + env("BENCH_REDIS_DATABASE", "15"));
+
+        strategy = context.getBean(StockStrategyFactory.class).getStrategy(strategyName);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        bookRepository = context.getBean(BookRepository.class);
+        bookCacheService = context.getBean(BookCacheService.class);
+        stringRedisTemplate = context.getBean(StringRedisTemplate.class);
+
+        Book book = bookRepository.save(Book.builder()
+                .bookName("stock-benchmark")
+                .bookDiscount(10_000)
+                .bookQuantity(INITIAL_STOCK)
+                .bookVersion(0L)
+                .build());
+        bookId = book.getBookId();
+        bookCacheService.setBookRedis(bookId, book);
+        order = Map.of(bookId, 1);
+    }
+
+    @Benchmark
+    public void decrease() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> strategy.decrease(order));
+            succeeded.incrementAndGet();
+        } catch (IllegalStateException e) {
+            rejected.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        try {
+            if (!strategy.isDurable()) {
+                awaitWriteBehind();
+            }
+
+            Integer dbStock = bookRepository.findById(bookId).map(Book::getBookQuantity).orElse(null);
+            Integer cachedStock = bookCacheService.getBookQuantity(bookId);
+            int expected = INITIAL_STOCK - succeeded.get();
+
+            System.out.printf("%n[%s] 성공: %d, 거절: %d, 오류: %d, DB 재고: %s, 캐시 재고: %s, 재고 불일치(DB - 기대값): %s%n",
+                    strategyName, succeeded.get(), rejected.get(), failed.get(), dbStock, cachedStock,
+                    dbStock != null ? dbStock - expected : "-");
+        } finally {
+            stringRedisTemplate.delete("book:" + bookId);
+            bookRepository.deleteById(bookId);
+            context.close();
+        }
+    }
+
+    /**
+     * Redis 차감분이 DB에 모두 반영될 때까지 대기
+     */
+    private void awaitWriteBehind() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WRITE_BEHIND_TIMEOUT_MS;
+
+        while (System.currentTimeMillis() < deadline) {
+            Long pending = stringRedisTemplate.opsForStream().size(BookCacheService.STOCK_DELTA_STREAM);
+            if (pending == null || pending == 0) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        System.out.println("재고 차감 내역 반영 대기 시간 초과");
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
@@ -0,0 +1,66 @@
+package com.fastcampus.book_bot.common.cache;
+
+import com.fastcampus.book_bot.domain.book.Book;
+import com.fastcampus.book_bot.service.book.BookCacheService;
+import com.fastcampus.book_bot.service.book.BookExistenceFilter;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Book 엔티티 변경 시 캐시 동기화 (write-through)
+ * - 신규 도서: 존재 필터 등록
+ * - 도서 수정: 캐시된 Hash 필드 갱신
+ * - 트랜잭션 커밋 이후에 반영하여 롤백된 변경이 캐시에 남지 않도록 함
+ * - JPA 부트스트랩 중 순환 참조를 피하기 위해 서비스는 지연 조회
+ */
+@Component
+@Slf4j
+public class BookCacheEntityListener {
+
+    private final ObjectProvider<BookCacheService> bookCacheService;
+    private final ObjectProvider<BookExistenceFilter> bookExistenceFilter;
+
+    public BookCacheEntityListener(ObjectProvider<BookCacheService> bookCacheService,
+                                   ObjectProvider<BookExistenceFilter> bookExistenceFilter) {
+        this.bookCacheService = bookCacheService;
+        this.bookExistenceFilter = bookExistenceFilter;
+    }
+
+    @PostPersist
+    public void onPersist(Book book) {
+        Integer bookId = book.getBookId();
+        afterCommit(() -> bookExistenceFilter.getObject().add(bookId));
+    }
+
+    @PostUpdate
+    public void onUpdate(Book book) {
+        afterCommit(() -> bookCacheService.getObject().syncCachedBook(book));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runSafely(action);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runSafely(action);
+            }
+        });
+    }
+
+    private void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.error("도서 캐시 동기화 실패", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fastcampus.book_bot.common.cache;
 
 import com.fastcampus.book_bot.service.book.BookCacheService;
+import com.fastcampus.book_bot.service.book.BookExistenceFilter;
 import com.fastcampus.book_bot.service.order.BestSellerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,17 +17,20 @@ public class CacheInitializer implements ApplicationRunner {
 
     private final BestSellerService bestSellerService;
     private final BookCacheService bookCacheService;
+    private final BookExistenceFilter bookExistenceFilter;
     private final RedisTemplate<String, Object> redisTemplate;
 
     /**
      * 애플리케이션 시작 시 캐시 초기화
      * - 주간/월간 베스트셀러 캐시 확인 및 생성
      * - 주문량 상위 20% 도서 Redis 캐싱
+     * - 도서 존재 필터(Bloom Filter) 구성
      */
     @Override
     public void run(ApplicationArguments args) throws Exception {
         log.info("=== 캐시 워밍 시작 ===");
 
+        initExistenceFilter();
 
         initTopBooksCache();
 
@@ -57,6 +61,17 @@ public class CacheInitializer implements ApplicationRunner {
         }
     }
 
+    /**
+     * 도서 존재 필터 초기화
+     */
+    private void initExistenceFilter() {
+        try {
+            bookExistenceFilter.rebuild();
+        } catch (Exception e) {
+            log.error("도서 존재 필터 구성 실패 - 필터 없이 동작", e);
+        }
+    }
+
     /**
      * 주문량 상위 20% 도서 캐시 초기화
      */
@@ -0,0 +1,25 @@
+package com.fastcampus.book_bot.common.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * Hibernate 기본 설정 (외부 설정 값이 있으면 그대로 사용)
+     * - id_sequences 기반 ID는 pooled-lo로 할당 (IdBlockRepository와 같은 블록 규칙)
+     * - NEXT_VAL에 마지막 사용 값을 저장하는 규칙을 명시 (기본값 변경 시 IdBlockRepository와 어긋나지 않도록)
+     * - ID를 미리 할당하므로 INSERT를 JDBC 배치로 묶어 실행
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateBatchCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.putIfAbsent("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+            hibernateProperties.put("hibernate.id.generator.stored_last_used", "true");
+            hibernateProperties.putIfAbsent("hibernate.jdbc.batch_size", "50");
+            hibernateProperties.putIfAbsent("hibernate.order_inserts", "true");
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.fastcampus.book_bot.common.exception.order;
+
+import com.fastcampus.book_bot.common.exception.BaseDomainException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+public class OrderDomainException extends BaseDomainException {
+
+    public OrderDomainException(String message, String errorCode, HttpStatus httpStatus) {
+        super(message, errorCode, "ORDER", httpStatus);
+    }
+
+    public OrderDomainException(String message, String errorCode,
+                                HttpStatus httpStatus, Map<String, Object> errorDetails) {
+        super(message, errorCode, "ORDER", httpStatus, errorDetails);
+    }
+
+    /**
+     * BAD_REQUEST (400) 예외 생성
+     */
+    public static OrderDomainException badRequest(String message, String errorCode) {
+        return new OrderDomainException(message, errorCode, HttpStatus.BAD_REQUEST);
+    }
+
+    public static OrderDomainException badRequest(String message, String errorCode, Map<String, Object> errorDetails) {
+        return new OrderDomainException(message, errorCode, HttpStatus.BAD_REQUEST, errorDetails);
+    }
+
+    /**
+     * CONFLICT (409) 예외 생성
+     */
+    public static OrderDomainException conflict(String message, String errorCode) {
+        return new OrderDomainException(message, errorCode, HttpStatus.CONFLICT);
+    }
+
+    public static OrderDomainException conflict(String message, String errorCode, Map<String, Object> errorDetails) {
+        return new OrderDomainException(message, errorCode, HttpStatus.CONFLICT, errorDetails);
+    }
+
+    /**
+     * UNPROCESSABLE_ENTITY (422) 예외 생성
+     */
+    public static OrderDomainException unprocessableEntity(String message, String errorCode) {
+        return new OrderDomainException(message, errorCode, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    public static OrderDomainException unprocessableEntity(String message, String errorCode, Map<String, Object> errorDetails) {
+        return new OrderDomainException(message, errorCode, HttpStatus.UNPROCESSABLE_ENTITY, errorDetails);
+    }
+}
@@ -0,0 +1,23 @@
+package com.fastcampus.book_bot.common.exception.order;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderErrorCode {
+
+    // ============== 중복 요청 관련 ==============
+    INVALID_IDEMPOTENCY_KEY("ORDER_INVALID_IDEMPOTENCY_KEY", "올바르지 않은 Idempotency-Key입니다"),
+    REQUEST_IN_PROGRESS("ORDER_REQUEST_IN_PROGRESS", "같은 주문 요청이 처리 중입니다"),
+    IDEMPOTENCY_KEY_REUSED("ORDER_IDEMPOTENCY_KEY_REUSED", "다른 주문 요청에 사용된 Idempotency-Key입니다"),
+
+    // ============== 견적 관련 ==============
+    QUOTE_ITEMS_EMPTY("ORDER_QUOTE_ITEMS_EMPTY", "견적 항목이 비어 있습니다"),
+    QUOTE_TOO_MANY_ITEMS("ORDER_QUOTE_TOO_MANY_ITEMS", "요청할 수 있는 견적 항목 수를 초과했습니다"),
+    QUOTE_TOO_MANY_SCENARIOS("ORDER_QUOTE_TOO_MANY_SCENARIOS", "요청할 수 있는 포인트 시나리오 수를 초과했습니다"),
+    QUOTE_BOOK_NOT_FOUND("ORDER_QUOTE_BOOK_NOT_FOUND", "존재하지 않는 도서가 포함되어 있습니다");
+
+    private final String code;
+    private final String message;
+}
@@ -22,6 +22,8 @@ import java.util.function.Function;
 @Slf4j
 public class JwtUtil {
 
+    private static final String QUOTE_SUBJECT = "quote";
+
     private String secretKey;
     private Long expirationTime;
     private Long refreshExpirationTime;
@@ -69,6 +71,40 @@ public class JwtUtil {
                 .compact();
     }
 
+    /** 주문 견적 토큰 생성 메서드
+     * 견적 ID와 주문 내용 지문만 포함 (금액은 Redis에 저장)
+     * subject를 사용자 ID로 두지 않아 Access Token으로 사용할 수 없음
+     * */
+    public String createQuoteToken(Integer userId, String quoteId, String fingerprint, long ttlMillis) {
+        Date now = new Date();
+        Date expirationDate = new Date(now.getTime() + ttlMillis);
+
+        return Jwts.builder()
+                .setSubject(QUOTE_SUBJECT)
+                .setId(quoteId)
+                .claim("uid", userId)
+                .claim("fp", fingerprint)
+                .setIssuer(issuer)
+                .setIssuedAt(now)
+                .setExpiration(expirationDate)
+                .signWith(getSignatureKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /** 주문 견적 토큰 검증 및 클레임 추출
+     * 서명 오류, 만료, 견적 토큰이 아닌 경우 JwtException
+     * */
+    public Claims parseQuoteToken(String token) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(getSignatureKey())
+                .requireSubject(QUOTE_SUBJECT)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+
+        return claims;
+    }
+
     /** JWT에서 특정 클레임 추출하는 메서드
      * @param claimsResolver Claims에서 원하는 정보를 추출
      * */
@@ -0,0 +1,32 @@
+package com.fastcampus.book_bot.controller.book;
+
+import com.fastcampus.book_bot.common.response.SuccessApiResponse;
+import com.fastcampus.book_bot.domain.book.Book;
+import com.fastcampus.book_bot.service.book.BookSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/books")
+@RequiredArgsConstructor
+public class BookApiController {
+
+    private final BookSearchService bookSearchService;
+
+    /**
+     * 도서 일괄 조회
+     * @param ids 도서 ID 목록 (예: ?ids=1,2,3)
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<SuccessApiResponse<List<Book>>> getBooks(@RequestParam List<Integer> ids) {
+        List<Book> books = bookSearchService.getBooksByIds(ids);
+
+        return ResponseEntity.ok(SuccessApiResponse.of("도서 일괄 조회 성공", books));
+    }
+}
@@ -2,30 +2,118 @@ package com.fastcampus.book_bot.controller.order;
 
 import com.fastcampus.book_bot.common.response.SuccessApiResponse;
 import com.fastcampus.book_bot.domain.user.User;
+import com.fastcampus.book_bot.dto.order.BatchQuoteDTO;
+import com.fastcampus.book_bot.dto.order.BatchQuoteRequestDTO;
+import com.fastcampus.book_bot.dto.order.CartOrderDTO;
 import com.fastcampus.book_bot.dto.order.OrdersDTO;
+import com.fastcampus.book_bot.dto.order.StockHoldDTO;
+import com.fastcampus.book_bot.service.order.OrderIdempotencyService;
 import com.fastcampus.book_bot.service.order.OrderService;
+import com.fastcampus.book_bot.service.order.StockHoldService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping("/api/order")
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final StockHoldService stockHoldService;
 
+    /**
+     * 주문 완료
+     * @param idempotencyKey 재시도 시 같은 값을 보내면 주문을 다시 실행하지 않고 최초 응답 반환
+     */
     @PostMapping("/complete")
     public ResponseEntity<SuccessApiResponse<Void>> orderComplete(OrdersDTO ordersDTO,
+                                                                  @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
                                                                   HttpServletRequest request) {
 
         User user = (User) request.getAttribute("currentUser");
 
-        orderService.saveOrder(user, ordersDTO);
+        String message = orderIdempotencyService.execute(user.getUserId(), idempotencyKey,
+                ordersDTO.getBookId() + ":" + ordersDTO.getQuantity(),
+                () -> {
+                    orderService.saveOrder(user, ordersDTO);
+                    return "엔티티 저장 완료";
+                });
+
+        return ResponseEntity.ok(SuccessApiResponse.of(message));
+    }
+
+    @PostMapping("/cart")
+    public ResponseEntity<SuccessApiResponse<Void>> cartOrderComplete(@RequestBody CartOrderDTO cartOrderDTO,
+                                                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                                      HttpServletRequest request) {
+
+        User user = (User) request.getAttribute("currentUser");
+
+        String fingerprint = cartOrderDTO.getItems() == null ? "" : cartOrderDTO.getItems().stream()
+                .map(item -> item.getBookId() + ":" + item.getQuantity())
+                .collect(Collectors.joining(","));
+
+        String message = orderIdempotencyService.execute(user.getUserId(), idempotencyKey, fingerprint,
+                () -> {
+                    orderService.saveCartOrder(user, cartOrderDTO);
+                    return "장바구니 주문 완료";
+                });
+
+        return ResponseEntity.ok(SuccessApiResponse.of(message));
+    }
+
+    /**
+     * 일괄 견적 (장바구니/위시리스트 항목과 포인트 사용 시나리오를 한 번에 계산)
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<SuccessApiResponse<BatchQuoteDTO>> quote(@RequestBody BatchQuoteRequestDTO quoteRequest,
+                                                                   HttpServletRequest request) {
+
+        User user = (User) request.getAttribute("currentUser");
+
+        BatchQuoteDTO quote = orderService.quoteBatch(user, quoteRequest);
+
+        return ResponseEntity.ok(SuccessApiResponse.of("견적 계산 완료", quote));
+    }
+
+    /**
+     * 재고 홀드 생성 (주문서 진입 시)
+     */
+    @PostMapping("/hold")
+    public ResponseEntity<SuccessApiResponse<StockHoldDTO>> holdStock(@RequestBody CartOrderDTO cartOrderDTO,
+                                                                      HttpServletRequest request) {
+
+        User user = (User) request.getAttribute("currentUser");
+
+        StockHoldDTO hold = orderService.holdStock(user, cartOrderDTO);
+
+        return ResponseEntity.ok(SuccessApiResponse.of("재고 홀드 완료", hold));
+    }
+
+    /**
+     * 재고 홀드 반환 (주문 취소/이탈 시)
+     */
+    @DeleteMapping("/hold/{holdId}")
+    public ResponseEntity<SuccessApiResponse<Void>> releaseStock(@PathVariable String holdId,
+                                                                 HttpServletRequest request) {
+
+        User user = (User) request.getAttribute("currentUser");
+
+        stockHoldService.release(holdId, user.getUserId());
 
-        return ResponseEntity.ok(SuccessApiResponse.of("엔티티 저장 완료"));
+        return ResponseEntity.ok(SuccessApiResponse.of("재고 홀드 반환 완료"));
     }
 }
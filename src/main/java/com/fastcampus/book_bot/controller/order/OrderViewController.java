@@ -1,20 +1,26 @@
 package com.fastcampus.book_bot.controller.order;
 
 import com.fastcampus.book_bot.domain.user.User;
-import com.fastcampus.book_bot.dto.order.OrderCalculationResult;
+import com.fastcampus.book_bot.dto.order.CartOrderDTO;
+import com.fastcampus.book_bot.dto.order.OrderQuoteDTO;
 import com.fastcampus.book_bot.dto.order.OrdersDTO;
+import com.fastcampus.book_bot.dto.order.StockHoldDTO;
 import com.fastcampus.book_bot.service.grade.GradeStrategyFactory;
 import com.fastcampus.book_bot.service.order.OrderService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 
+import java.util.List;
+
 @Controller
 @RequiredArgsConstructor
+@Slf4j
 public class OrderViewController {
 
     private final OrderService orderService;
@@ -25,13 +31,26 @@ public class OrderViewController {
                         Model model) {
 
         User user = (User) request.getAttribute("currentUser");
-        OrderCalculationResult result = orderService.calculateOrder(ordersDTO, user);
+        OrderQuoteDTO quote = orderService.quoteOrder(ordersDTO, user);
 
-        model.addAttribute("calculationResult", result);
+        model.addAttribute("calculationResult", quote.getCalculationResult());
+        model.addAttribute("quoteToken", quote.getQuoteToken());
         model.addAttribute("currentUser", user);
         model.addAttribute("userGrade", user.getUserGrade());
         model.addAttribute("userPoints", user.getPoint());
 
+        // 주문서 작성 중 재고 확보 (홀드 실패 시에도 주문서는 표시하고 주문 시점에 재고 재검증)
+        try {
+            StockHoldDTO hold = orderService.holdStock(user,
+                    CartOrderDTO.builder().items(List.of(ordersDTO)).build());
+            model.addAttribute("holdId", hold.getHoldId());
+            model.addAttribute("holdExpiresAt", hold.getExpiresAt());
+        } catch (IllegalStateException e) {
+            model.addAttribute("stockError", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("재고 홀드 생성 실패 - BookId: {}, 사유: {}", ordersDTO.getBookId(), e.getMessage());
+        }
+
         return "order/order";
     }
 }
@@ -1,5 +1,6 @@
 package com.fastcampus.book_bot.domain.book;
 
+import com.fastcampus.book_bot.common.cache.BookCacheEntityListener;
 import jakarta.persistence.*;
 import jakarta.persistence.Id;
 import lombok.AllArgsConstructor;
@@ -15,7 +16,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "books")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, BookCacheEntityListener.class})
 @Data
 @Builder
 @AllArgsConstructor
@@ -57,6 +58,10 @@ public class Book {
     @Column(name = "BOOK_QUANTITY")
     private Integer bookQuantity;
 
+    @Version
+    @Column(name = "BOOK_VERSION")
+    private Long bookVersion;
+
     @Column(name = "UPDATED_BY")
     private Integer updatedBy;
 
@@ -17,10 +17,13 @@ public class OrderBook {
 
     /**
      * 주문 도서 ID (Primary Key)
-     * 주문상품을 고유하게 식별하는 자동 증가 값
+     * 주문상품을 고유하게 식별하는 값 (id_sequences 블록 할당)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TableGenerator(name = "order_book_id", table = "id_sequences",
+            pkColumnName = "SEQUENCE_NAME", valueColumnName = "NEXT_VAL",
+            pkColumnValue = "order_book", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_book_id")
     @Column(name = "ORDER_BOOK_ID")
     private Integer orderBookId;
 
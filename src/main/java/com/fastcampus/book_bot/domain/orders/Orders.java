@@ -25,13 +25,24 @@ public class Orders {
 
     /**
      * 주문 ID (Primary Key)
-     * 시스템 내부에서 주문을 고유하게 식별하는 자동 증가 값
+     * 시스템 내부에서 주문을 고유하게 식별하는 값
+     * id_sequences 테이블에서 블록 단위로 할당 (INSERT 배치 가능, 비동기 주문 접수와 같은 ID 공간 사용)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TableGenerator(name = "orders_id", table = "id_sequences",
+            pkColumnName = "SEQUENCE_NAME", valueColumnName = "NEXT_VAL",
+            pkColumnValue = "orders", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id")
     @Column(name = "ORDER_ID")
     private Integer orderId;
 
+    /**
+     * 주문 키
+     * 비동기 주문 접수 시 발급하는 외부 식별 값 (재처리 시 중복 저장 방지)
+     */
+    @Column(name = "ORDER_KEY", length = 40, unique = true)
+    private String orderKey;
+
     /**
      * 주문 상태
      * 주문의 처리 단계를 나타냄
@@ -0,0 +1,15 @@
+package com.fastcampus.book_bot.dto.order;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Builder
+@Getter
+public class BatchQuoteDTO {
+    private String gradeName;                           // 등급명
+    private List<LineQuoteDTO> lines;                   // 항목별 견적
+    private Integer originalAmount;                     // 전체 원가
+    private List<OrderCalculationResult> scenarios;     // 포인트 사용 시나리오별 결제 금액 (주문 전체 기준)
+}
@@ -0,0 +1,24 @@
+package com.fastcampus.book_bot.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 일괄 견적 요청 (장바구니/위시리스트)
+ * - 항목별 bookId, quantity만 사용 (가격은 서버의 도서 정보 기준, 수량이 없으면 1)
+ * - 포인트 사용 시나리오별 결제 금액을 함께 계산 (없으면 보유 포인트 전액 사용 기준)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchQuoteRequestDTO {
+
+    private List<OrdersDTO> items;
+    /** 포인트 사용 시나리오 (사용할 포인트 목록) */
+    private List<Integer> pointScenarios;
+}
@@ -0,0 +1,23 @@
+package com.fastcampus.book_bot.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 장바구니 주문 요청
+ * - 항목별 bookId, quantity만 사용 (가격은 서버의 도서 정보 기준)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartOrderDTO {
+
+    private List<OrdersDTO> items;
+    /** 재고 홀드 ID (선택) */
+    private String holdId;
+}
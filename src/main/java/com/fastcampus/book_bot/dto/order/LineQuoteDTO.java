@@ -0,0 +1,14 @@
+package com.fastcampus.book_bot.dto.order;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class LineQuoteDTO {
+    private Integer bookId;             // 도서 ID
+    private Integer quantity;           // 수량
+    private Integer originalAmount;     // 원가 (판매가 x 수량)
+    private Integer discountedAmount;   // 등급 할인 후 금액
+    private Integer earnedMileage;      // 적립될 마일리지
+}
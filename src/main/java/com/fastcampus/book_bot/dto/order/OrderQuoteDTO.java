@@ -0,0 +1,11 @@
+package com.fastcampus.book_bot.dto.order;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class OrderQuoteDTO {
+    private String quoteToken;                          // 견적 토큰
+    private OrderCalculationResult calculationResult;   // 견적 금액
+}
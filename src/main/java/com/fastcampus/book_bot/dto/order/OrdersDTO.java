@@ -1,10 +1,14 @@
 package com.fastcampus.book_bot.dto.order;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class OrdersDTO {
 
     private Integer bookId;
@@ -13,4 +17,8 @@ public class OrdersDTO {
     private String bookPublisher;
     private Integer price;
     private Integer quantity;
+    /** 주문서 진입 시 생성된 재고 홀드 ID (없으면 일반 재고 차감) */
+    private String holdId;
+    /** 주문서 진입 시 발급된 견적 토큰 (유효하면 주문 시 금액을 다시 계산하지 않음) */
+    private String quoteToken;
 }
@@ -0,0 +1,13 @@
+package com.fastcampus.book_bot.dto.order;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+public class StockHoldDTO {
+    private String holdId;              // 재고 홀드 ID
+    private LocalDateTime expiresAt;    // 홀드 만료 시각
+}
@@ -1,15 +1,18 @@
 package com.fastcampus.book_bot.repository;
 
 import com.fastcampus.book_bot.domain.book.Book;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,19 +25,39 @@ public interface BookRepository extends JpaRepository<Book, Integer> {
     Page<Book> findByBookPublisherContaining(String bookPublisher, Pageable pageable);
     Page<Book> findByBookNameContainingOrBookAuthorContainingOrBookPublisherContaining(String bookTitle, String bookAuthor, String bookPublisher, Pageable pageable);
 
+    // 재고 일괄 갱신 쿼리는 BOOK_VERSION을 함께 올려 낙관적 락 차감과 충돌을 감지
+
     @Modifying
-    @Query("UPDATE Book b SET b.bookQuantity = :newQuantity WHERE b.bookId = :bookId")
+    @Query("UPDATE Book b SET b.bookQuantity = :newQuantity, b.bookVersion = b.bookVersion + 1 WHERE b.bookId = :bookId")
     void updateBookQuantity(@Param("bookId") Integer bookId, @Param("newQuantity") Integer newQuantity);
 
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Book b
+        SET b.bookQuantity = b.bookQuantity - :quantity, b.bookVersion = b.bookVersion + 1
+        WHERE b.bookId = :bookId AND b.bookQuantity >= :quantity
+    """)
+    int decreaseBookQuantity(@Param("bookId") Integer bookId, @Param("quantity") Integer quantity);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Book b SET b.bookQuantity = b.bookQuantity + :quantity, b.bookVersion = b.bookVersion + 1 WHERE b.bookId = :bookId")
+    int increaseBookQuantity(@Param("bookId") Integer bookId, @Param("quantity") Integer quantity);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.bookId IN :bookIds ORDER BY b.bookId")
+    List<Book> findAllByIdForUpdate(@Param("bookIds") Collection<Integer> bookIds);
+
 
     @Query("""
-        SELECT b
-        FROM Book b
-        JOIN OrderBook ob ON b.bookId = ob.book.bookId
-        GROUP BY b.bookId
-        order by SUM(ob.quantity) DESC
+        SELECT ob.book.bookId
+        FROM OrderBook ob
+        GROUP BY ob.book.bookId
+        ORDER BY SUM(ob.quantity) DESC
         LIMIT :limit
     """)
-    List<Book> findByTop20ByOrderCount(@Param("limit") int limit);
+    List<Integer> findTopBookIdsByOrderCount(@Param("limit") int limit);
+
+    @Query("SELECT b.bookId FROM Book b WHERE b.bookId > :lastId ORDER BY b.bookId")
+    List<Integer> findBookIdsAfter(@Param("lastId") int lastId, Pageable pageable);
 
 }
\ No newline at end of file
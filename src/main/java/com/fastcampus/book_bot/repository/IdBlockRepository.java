@@ -0,0 +1,40 @@
+package com.fastcampus.book_bot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * id_sequences 기반 ID 블록 할당 (pooled-lo)
+ * - NEXT_VAL은 마지막으로 할당된 값이며, 할당 시 요청 크기만큼 증가
+ *   (Hibernate 6 @TableGenerator 기본 규칙 hibernate.id.generator.stored_last_used=true와 동일)
+ * - JPA 엔티티의 @TableGenerator(pooled-lo)와 같은 규칙이므로 두 경로의 ID가 겹치지 않음
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdBlockRepository {
+
+    private static final String ALLOCATE_SQL =
+            "UPDATE id_sequences SET NEXT_VAL = LAST_INSERT_ID(NEXT_VAL + ?) WHERE SEQUENCE_NAME = ?";
+    private static final String LAST_VALUE_SQL = "SELECT LAST_INSERT_ID()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * ID 블록 할당
+     * - 별도 트랜잭션으로 즉시 커밋하여 시퀀스 행 잠금을 짧게 유지
+     * - 읽은 값 S가 마지막 사용 값이므로 할당 범위는 S + 1 ~ S + size, 저장 값은 S + size
+     * @return 블록 시작 값 (할당 범위: [시작 값, 시작 값 + size))
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long allocate(String sequenceName, int size) {
+        if (jdbcTemplate.update(ALLOCATE_SQL, size, sequenceName) == 0) {
+            throw new IllegalStateException("존재하지 않는 시퀀스입니다: " + sequenceName);
+        }
+
+        Long lastUsed = jdbcTemplate.queryForObject(LAST_VALUE_SQL, Long.class);
+        return lastUsed - size + 1;
+    }
+}
@@ -5,4 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface OrderRepository extends JpaRepository<Orders, Integer> {
 
+    boolean existsByOrderKey(String orderKey);
 }
@@ -54,6 +54,7 @@ public class ApiToMySQLService {
                 Book book = convertToBook(item);
                 book.setBookQuantity(30 + random.nextInt(21));
                 if (!isDuplicateBook(book)) {
+                    // 존재 필터 등록은 BookCacheEntityListener에서 커밋 이후 처리
                     bookRepository.save(book);
                 }
             } catch (Exception e) {
@@ -0,0 +1,81 @@
+package com.fastcampus.book_bot.service.book;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 도서 접근 빈도 추정기 (TinyLFU 방식의 Count-Min Sketch)
+ * - 도서 수와 무관하게 고정 크기 메모리로 빈도 근사
+ * - 누적 접근 수가 샘플 크기에 도달하면 모든 카운터를 절반으로 감쇠하여 최근 경향 반영
+ */
+public class BookAccessSketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicIntegerArray[] table = new AtomicIntegerArray[DEPTH];
+    private final int[] seeds = new int[DEPTH];
+    private final int mask;
+    private final long sampleSize;
+    private final LongAdder additions = new LongAdder();
+
+    public BookAccessSketch(int expectedItems) {
+        int width = Integer.highestOneBit(Math.max(16, expectedItems - 1)) << 1;
+        this.mask = width - 1;
+        this.sampleSize = 10L * width;
+
+        for (int i = 0; i < DEPTH; i++) {
+            table[i] = new AtomicIntegerArray(width);
+            seeds[i] = ThreadLocalRandom.current().nextInt() | 1;
+        }
+    }
+
+    /**
+     * 접근 1회 기록
+     */
+    public void increment(int bookId) {
+        for (int i = 0; i < DEPTH; i++) {
+            AtomicIntegerArray row = table[i];
+            int index = indexOf(bookId, i);
+            if (row.get(index) < MAX_COUNT) {
+                row.incrementAndGet(index);
+            }
+        }
+
+        additions.increment();
+        if (additions.sum() >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 추정 접근 빈도 (행별 카운터 중 최솟값)
+     */
+    public int frequency(int bookId) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, table[i].get(indexOf(bookId, i)));
+        }
+        return frequency;
+    }
+
+    private synchronized void reset() {
+        if (additions.sum() < sampleSize) {
+            return;
+        }
+
+        for (AtomicIntegerArray row : table) {
+            for (int j = 0; j < row.length(); j++) {
+                row.set(j, row.get(j) >>> 1);
+            }
+        }
+        additions.reset();
+    }
+
+    private int indexOf(int bookId, int row) {
+        int hash = (bookId * seeds[row]) ^ (bookId >>> 16);
+        hash ^= hash >>> 15;
+        return hash & mask;
+    }
+}
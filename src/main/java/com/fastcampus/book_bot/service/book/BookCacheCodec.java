@@ -0,0 +1,306 @@
+package com.fastcampus.book_bot.service.book;
+
+import com.fastcampus.book_bot.domain.book.Book;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 도서 캐시(book:{id}) 직렬화 코덱
+ * - HASH: 기존 8개 문자열 필드 레이아웃
+ * - PACKED: 재고를 제외한 필드를 버전이 붙은 바이너리 값 하나(d)로 압축 (숫자는 varint)
+ * - 재고는 두 레이아웃 모두 문자열 필드(quantity)로 유지하여 Lua HINCRBY 차감과 호환
+ * - 읽기는 두 레이아웃을 모두 지원하므로 쓰기 포맷만 전환하면 TTL/재적재에 따라 점진적으로 이전됨
+ */
+@Component
+public class BookCacheCodec {
+
+    public enum Format {
+        HASH, PACKED
+    }
+
+    public static final String QUANTITY_FIELD = "quantity";
+    public static final String PACKED_FIELD = "d";
+
+    private static final byte PACKED_VERSION = 1;
+
+    private static final String[] HASH_DETAIL_FIELDS = {
+            "bookId", "title", "imagePath", "author", "publisher", "price", "isbn"
+    };
+
+    private static final byte[] QUANTITY_FIELD_BYTES = bytes(QUANTITY_FIELD);
+    private static final byte[] PACKED_FIELD_BYTES = bytes(PACKED_FIELD);
+
+    private final Format writeFormat;
+
+    public BookCacheCodec(@Value("${book.cache.codec.write-format:HASH}") Format writeFormat) {
+        this.writeFormat = writeFormat;
+    }
+
+    public Format writeFormat() {
+        return writeFormat;
+    }
+
+    /**
+     * 캐시 저장용 필드 (재고 포함)
+     */
+    public Map<byte[], byte[]> encode(Book book) {
+        Map<byte[], byte[]> fields = encodeDetails(book);
+        fields.put(QUANTITY_FIELD_BYTES, bytes(String.valueOf(book.getBookQuantity())));
+        return fields;
+    }
+
+    /**
+     * 도서 정보 필드 (재고 제외, write-through 동기화용)
+     */
+    public Map<byte[], byte[]> encodeDetails(Book book) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+
+        if (writeFormat == Format.PACKED) {
+            fields.put(PACKED_FIELD_BYTES, pack(book));
+            return fields;
+        }
+
+        toHash(book).forEach((field, value) -> fields.put(bytes(field), bytes(value)));
+        return fields;
+    }
+
+    /**
+     * 현재 쓰기 포맷에서 사용하지 않는 필드 (레이아웃 전환 시 이전 값이 남지 않도록 삭제)
+     */
+    public byte[][] staleFields() {
+        if (writeFormat == Format.PACKED) {
+            return Arrays.stream(HASH_DETAIL_FIELDS).map(BookCacheCodec::bytes).toArray(byte[][]::new);
+        }
+        return new byte[][]{PACKED_FIELD_BYTES};
+    }
+
+    /**
+     * 두 레이아웃의 도서 정보 필드 전체 (재고 제외, 캐시 교체 시 삭제 대상)
+     */
+    public byte[][] detailFields() {
+        byte[][] fields = new byte[HASH_DETAIL_FIELDS.length + 1][];
+        for (int i = 0; i < HASH_DETAIL_FIELDS.length; i++) {
+            fields[i] = bytes(HASH_DETAIL_FIELDS[i]);
+        }
+        fields[HASH_DETAIL_FIELDS.length] = PACKED_FIELD_BYTES;
+        return fields;
+    }
+
+    /**
+     * Redis Hash를 Book으로 변환 (두 레이아웃 모두 지원, 비어 있거나 재고만 남아 있으면 null)
+     */
+    public Book decode(Map<byte[], byte[]> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+
+        byte[] packed = null;
+        byte[] quantity = null;
+        for (Map.Entry<byte[], byte[]> entry : fields.entrySet()) {
+            if (Arrays.equals(entry.getKey(), PACKED_FIELD_BYTES)) {
+                packed = entry.getValue();
+            } else if (Arrays.equals(entry.getKey(), QUANTITY_FIELD_BYTES)) {
+                quantity = entry.getValue();
+            }
+        }
+
+        Book book;
+        if (packed != null) {
+            book = unpack(packed);
+        } else {
+            Map<String, String> hash = new HashMap<>();
+            fields.forEach((field, value) -> hash.put(string(field), string(value)));
+            if (!hash.containsKey("bookId")) {
+                // 캐시 교체로 도서 정보만 제거된 상태 -> 미스로 처리 (재적재 시 재고는 유지)
+                return null;
+            }
+            book = fromHash(hash);
+        }
+
+        book.setBookQuantity(quantity != null ? parseInt(quantity) : null);
+        return book;
+    }
+
+    /**
+     * 기존 문자열 Hash 레이아웃 (재고 제외)
+     */
+    public Map<String, String> toHash(Book book) {
+        Map<String, String> bookData = new HashMap<>();
+        bookData.put("bookId", String.valueOf(book.getBookId()));
+        bookData.put("title", book.getBookName());
+        bookData.put("imagePath", book.getBookImagePath());
+        bookData.put("author", book.getBookAuthor() != null ? book.getBookAuthor() : "");
+        bookData.put("publisher", book.getBookPublisher() != null ? book.getBookPublisher() : "");
+        bookData.put("price", String.valueOf(book.getBookDiscount()));
+        bookData.put("isbn", book.getBookIsbn() != null ? book.getBookIsbn() : "");
+
+        return bookData;
+    }
+
+    public Book fromHash(Map<String, String> bookData) {
+        Book book = new Book();
+        book.setBookId(Integer.valueOf(bookData.get("bookId")));
+        book.setBookName(bookData.get("title"));
+        book.setBookImagePath(bookData.get("imagePath"));
+        book.setBookAuthor(bookData.get("author"));
+        book.setBookPublisher(bookData.get("publisher"));
+        book.setBookDiscount(Integer.valueOf(bookData.get("price")));
+        book.setBookIsbn(bookData.get("isbn"));
+
+        return book;
+    }
+
+    /**
+     * PACKED 레이아웃 (v1)
+     * [version][bookId][price][title][imagePath][author][publisher][isbn]
+     * - 숫자: unsigned varint(값 + 1), 0은 null
+     * - 문자열: varint(UTF-8 길이 + 1) + 바이트, 0은 null
+     */
+    public byte[] pack(Book book) {
+        PackedWriter writer = new PackedWriter();
+        writer.writeByte(PACKED_VERSION);
+        writer.writeInt(book.getBookId());
+        writer.writeInt(book.getBookDiscount());
+        writer.writeString(book.getBookName());
+        writer.writeString(book.getBookImagePath());
+        writer.writeString(book.getBookAuthor());
+        writer.writeString(book.getBookPublisher());
+        writer.writeString(book.getBookIsbn());
+
+        return writer.toByteArray();
+    }
+
+    public Book unpack(byte[] packed) {
+        PackedReader reader = new PackedReader(packed);
+
+        byte version = reader.readByte();
+        if (version != PACKED_VERSION) {
+            throw new IllegalStateException("지원하지 않는 도서 캐시 포맷 버전: " + version);
+        }
+
+        Book book = new Book();
+        book.setBookId(reader.readInt());
+        book.setBookDiscount(reader.readInt());
+        book.setBookName(reader.readString());
+        book.setBookImagePath(reader.readString());
+        book.setBookAuthor(reader.readString());
+        book.setBookPublisher(reader.readString());
+        book.setBookIsbn(reader.readString());
+
+        return book;
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static Integer parseInt(byte[] digits) {
+        int result = 0;
+        boolean negative = digits.length > 0 && digits[0] == '-';
+        for (int i = negative ? 1 : 0; i < digits.length; i++) {
+            int digit = digits[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.valueOf(string(digits));
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    private static final class PackedWriter {
+
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInt(Integer value) {
+            writeVarint(value == null ? 0 : Integer.toUnsignedLong(value) + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(encoded.length + 1L);
+            ensureCapacity(encoded.length);
+            System.arraycopy(encoded, 0, buffer, position, encoded.length);
+            position += encoded.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+    }
+
+    private static final class PackedReader {
+
+        private final byte[] buffer;
+        private int position;
+
+        PackedReader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        Integer readInt() {
+            long value = readVarint();
+            return value == 0 ? null : (int) (value - 1);
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(buffer, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = buffer[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+    }
+}
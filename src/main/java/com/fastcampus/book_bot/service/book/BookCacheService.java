@@ -4,18 +4,33 @@ import com.fastcampus.book_bot.domain.book.Book;
 import com.fastcampus.book_bot.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -26,57 +41,606 @@ public class BookCacheService {
     private final RedisTemplate<String, Object> redisTemplate;
     private final StringRedisTemplate stringRedisTemplate;
     private final BookRepository bookRepository;
+    private final BookNearCache bookNearCache;
+    private final BookHotSetManager bookHotSetManager;
+    private final BookExistenceFilter bookExistenceFilter;
+    private final BookCacheCodec bookCacheCodec;
+    private final BookStockLeaseManager bookStockLeaseManager;
+    private final BookStockShardManager bookStockShardManager;
+    private final BookStockSnapshotReader bookStockSnapshotReader;
+    private final ThreadPoolTaskExecutor taskExecutor;
 
     private static final String BOOK_CACHE = "book:";
 
+    /** Redis 재고 차감 내역 스트림 (StockDeltaFlusher가 DB에 일괄 반영) */
+    public static final String STOCK_DELTA_STREAM = "stock:delta";
+
+    /** 주문 진행 중 홀드된 도서별 재고 수량 (StockHoldService 관리, 가용 재고 = quantity - reserved) */
+    public static final String STOCK_RESERVED_KEY = "stock:reserved";
+    private static final String LOAD_LOCK = "lock:book:";
+    private static final Duration LOAD_LOCK_TTL = Duration.ofSeconds(3);
+    private static final int LOAD_WAIT_RETRIES = 10;
+    private static final long LOAD_WAIT_INTERVAL_MS = 50;
+
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "    return redis.call('DEL', KEYS[1]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> SYNC_FIELDS_SCRIPT = new DefaultRedisScript<>(
+            // 캐시된 도서만 갱신 (만료/미캐시 도서는 새로 만들지 않음)
+            // ARGV[1]: 만료 시간(초, 0이면 유지), ARGV[2]: 삭제할 필드 수, 이후 삭제할 필드, 나머지는 field/value 쌍
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+                    "    return 0 " +
+                    "end " +
+                    "local staleCount = tonumber(ARGV[2]) " +
+                    "if staleCount > 0 then " +
+                    "    redis.call('HDEL', KEYS[1], unpack(ARGV, 3, staleCount + 2)) " +
+                    "end " +
+                    "redis.call('HSET', KEYS[1], unpack(ARGV, staleCount + 3)) " +
+                    "local ttl = tonumber(ARGV[1]) " +
+                    "if ttl > 0 then " +
+                    "    redis.call('EXPIRE', KEYS[1], ttl) " +
+                    "end " +
+                    "return 1",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> ADJUST_QUANTITY_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 도서 키, 차감 내역 스트림 / ARGV: 증감 수량, 도서 ID
+            // 재고가 캐시에 없으면 수량 0인 변동 내역만 기록 (진행 중인 캐시 적재가 변경 전 DB 값을 저장하지 않도록)
+            // 반환: 1: 증감, 0: 캐시 없음
+            "if redis.call('HEXISTS', KEYS[1], 'quantity') == 1 then " +
+                    "    redis.call('HINCRBY', KEYS[1], 'quantity', ARGV[1]) " +
+                    "    return 1 " +
+                    "end " +
+                    "redis.call('XADD', KEYS[2], '*', 'bookId', ARGV[2], 'quantity', '0') " +
+                    "return 0",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 도서 키들 + 차감 내역 스트림
+            // ARGV[1]: 스냅샷 워터마크, ARGV[2]: 삭제할 필드 수, 이후 삭제할 필드
+            //   나머지는 도서별 {도서 ID, 재고, 만료 시간(초), 필드 수, field/value 쌍...}
+            // - 재고는 HSETNX (이미 있는 재고는 주문 경로가 관리하는 최신 값이므로 유지)
+            // - 재고가 없는데 워터마크 이후 같은 도서의 차감 내역이 생겼으면 스냅샷이 낡았으므로 저장하지 않음
+            // 반환: 저장한 도서 수
+            "local changed = {} " +
+                    "for _, entry in ipairs(redis.call('XRANGE', KEYS[#KEYS], ARGV[1], '+')) do " +
+                    "    if entry[1] ~= ARGV[1] then " +
+                    "        local fields = entry[2] " +
+                    "        for j = 1, #fields, 2 do " +
+                    "            if fields[j] == 'bookId' then " +
+                    "                changed[fields[j + 1]] = true " +
+                    "            end " +
+                    "        end " +
+                    "    end " +
+                    "end " +
+                    "local staleCount = tonumber(ARGV[2]) " +
+                    "local pos = staleCount + 3 " +
+                    "local filled = 0 " +
+                    "for i = 1, #KEYS - 1 do " +
+                    "    local last = pos + 3 + tonumber(ARGV[pos + 3]) * 2 " +
+                    "    if not changed[ARGV[pos]] or redis.call('HEXISTS', KEYS[i], 'quantity') == 1 then " +
+                    "        if staleCount > 0 then " +
+                    "            redis.call('HDEL', KEYS[i], unpack(ARGV, 3, staleCount + 2)) " +
+                    "        end " +
+                    "        redis.call('HSET', KEYS[i], unpack(ARGV, pos + 4, last)) " +
+                    "        redis.call('HSETNX', KEYS[i], 'quantity', ARGV[pos + 1]) " +
+                    "        redis.call('EXPIRE', KEYS[i], ARGV[pos + 2]) " +
+                    "        filled = filled + 1 " +
+                    "    end " +
+                    "    pos = last + 1 " +
+                    "end " +
+                    "return filled",
+            Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> MULTI_DECREMENT_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 도서 키들 + 차감 내역 스트림 + 홀드 수량 Hash, ARGV: 수량들 + 도서 ID들
+            // 1. 모든 항목의 가용 재고(홀드 제외)를 먼저 검증 (하나라도 실패하면 아무것도 차감하지 않음)
+            // 반환: {결과코드, 실패 항목 번호} - -1: 재고 정보 없음, -2: 재고 부족, -3: 타입 오류
+            "local count = #KEYS - 2 " +
+                    "for i = 1, count do " +
+                    "    local current = redis.call('HGET', KEYS[i], 'quantity') " +
+                    "    if current == false then " +
+                    "        return {-1, i} " +
+                    "    end " +
+                    "    current = tonumber(current) " +
+                    "    if current == nil then " +
+                    "        return {-3, i} " +
+                    "    end " +
+                    "    local reserved = tonumber(redis.call('HGET', KEYS[count + 2], ARGV[count + i]) or '0') " +
+                    "    if current - reserved < tonumber(ARGV[i]) then " +
+                    "        return {-2, i} " +
+                    "    end " +
+                    "end " +
+                    // 2. 전체 차감 및 차감 내역 기록 (DB 반영용)
+                    "for i = 1, count do " +
+                    "    redis.call('HINCRBY', KEYS[i], 'quantity', -tonumber(ARGV[i])) " +
+                    "    redis.call('XADD', KEYS[count + 1], '*', 'bookId', ARGV[count + i], 'quantity', ARGV[i]) " +
+                    "end " +
+                    "return {0, 0}",
+            List.class);
+
+    private static final RedisSerializer<Long> LONG_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    private final ConcurrentHashMap<Integer, CompletableFuture<Book>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Set<Integer> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Value("${book.cache.read-through:true}")
+    private boolean readThrough;
+
+    @Value("${book.cache.warm.chunk-size:500}")
+    private int warmChunkSize;
+
+    @Value("${book.cache.ttl-days:30}")
+    private long bookTtlDays;
+
+    /** 키별 TTL 분산 비율 (0.1이면 기본 TTL의 ±10%) */
+    @Value("${book.cache.ttl-jitter-ratio:0.1}")
+    private double ttlJitterRatio;
+
+    /** 남은 TTL이 기본 TTL의 이 비율 미만일 때 조회되면 비동기 갱신 (0이면 사용 안 함) */
+    @Value("${book.cache.refresh-ahead-ratio:0.1}")
+    private double refreshAheadRatio;
+
     /**
-     * Redis에서 도서 조회
+     * 도서 조회 (로컬 캐시 -> Redis -> DB)
+     * - read-through 모드에서는 DB 조회 결과를 Redis에 다시 저장 (캐시 허용 정책 통과 시)
      */
     public Book getBook(Integer bookId) {
-        String cacheKey = BOOK_CACHE + bookId;
+        bookHotSetManager.recordAccess(bookId);
+
+        Book cached = getCachedBook(bookId);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (!bookExistenceFilter.mightExist(bookId)) {
+            log.debug("존재하지 않는 도서 ID - DB 조회 생략 - BookId: {}", bookId);
+            throw new IllegalArgumentException("Book not found: " + bookId);
+        }
+
+        if (!readThrough) {
+            log.info("Redis 조회 실패 -> DB 조회 - BookId: {}", bookId);
+            return findBookFromDB(bookId);
+        }
+
+        return loadThrough(bookId);
+    }
+
+    /**
+     * 여러 도서 일괄 조회 (로컬 캐시 -> Redis 파이프라인 -> DB findAllById)
+     * - Redis 조회는 한 번의 왕복, 미스는 한 번의 IN 쿼리로 조회 후 Script 한 번으로 캐시 저장
+     * - 요청 순서를 유지하며 중복 ID는 한 번만, 존재하지 않는 도서는 제외
+     */
+    public List<Book> getBooks(Collection<Integer> bookIds) {
+        Set<Integer> requested = new LinkedHashSet<>(bookIds);
+        requested.remove(null);
+        if (requested.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, Book> found = new HashMap<>();
+        List<Integer> remoteIds = new ArrayList<>();
+        for (Integer bookId : requested) {
+            bookHotSetManager.recordAccess(bookId);
+
+            Book nearCached = bookNearCache.get(bookId);
+            if (nearCached != null) {
+                found.put(bookId, nearCached);
+            } else {
+                remoteIds.add(bookId);
+            }
+        }
+
+        List<Integer> missedIds = remoteIds.isEmpty() ? remoteIds : findCachedBooks(remoteIds, found);
+
+        List<Integer> loadIds = missedIds.isEmpty() ? missedIds : bookExistenceFilter.filterMightExist(missedIds);
+        if (!loadIds.isEmpty()) {
+            List<Book> loaded = bookRepository.findAllById(loadIds);
+            loaded.forEach(book -> found.put(book.getBookId(), book));
 
-        Map<Object, Object> bookData = stringRedisTemplate.opsForHash().entries(cacheKey);
+            // 단건 로딩과 같이 캐시 허용 정책을 통과한 도서만 저장 (재고는 HSETNX라 동시 로딩/차감 값을 덮어쓰지 않음)
+            if (readThrough) {
+                setBooksRedis(loaded.stream()
+                        .filter(book -> bookHotSetManager.admit(book.getBookId()))
+                        .toList());
+            }
+
+            bookExistenceFilter.markMissing(loadIds.stream().filter(id -> !found.containsKey(id)).toList());
+        }
+
+        log.info("도서 일괄 조회 - 요청: {}건, Redis 조회: {}건, DB 조회: {}건, 결과: {}건",
+                requested.size(), remoteIds.size(), loadIds.size(), found.size());
+
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Redis에서 여러 도서를 파이프라인으로 조회 (HGETALL + PTTL)
+     * @return 캐시 미스 도서 ID
+     */
+    private List<Integer> findCachedBooks(List<Integer> bookIds, Map<Integer, Book> found) {
+        List<Object> results = stringRedisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (Integer bookId : bookIds) {
+                byte[] cacheKey = cacheKey(bookId);
+                connection.hashCommands().hGetAll(cacheKey);
+                connection.keyCommands().pTtl(cacheKey);
+            }
+            return connection.closePipeline();
+        });
 
-        if (!bookData.isEmpty()) {
+        List<Integer> missedIds = new ArrayList<>();
+        for (int i = 0; i < bookIds.size(); i++) {
+            Integer bookId = bookIds.get(i);
+
+            @SuppressWarnings("unchecked")
+            Map<byte[], byte[]> bookData = (Map<byte[], byte[]>) results.get(i * 2);
+            Book book = bookCacheCodec.decode(bookData);
+
+            if (book == null) {
+                missedIds.add(bookId);
+                continue;
+            }
+
+            found.put(bookId, book);
+            bookNearCache.put(bookId, book);
+
+            if (results.get(i * 2 + 1) instanceof Long remainingMillis && isRefreshDue(remainingMillis)) {
+                refreshAhead(bookId);
+            }
+        }
+        return missedIds;
+    }
+
+    /**
+     * 로컬 캐시 -> Redis 순서로 조회 (없으면 null, DB 조회 없음)
+     */
+    public Book getCachedBook(Integer bookId) {
+        Book nearCached = bookNearCache.get(bookId);
+        if (nearCached != null) {
+            log.debug("로컬 캐시에서 도서 조회 성공 - BookId: {}", bookId);
+            return nearCached;
+        }
+
+        // HGETALL과 PTTL을 한 번의 왕복으로 조회 (바이너리 값을 그대로 받기 위해 직접 파이프라인 사용)
+        byte[] cacheKey = cacheKey(bookId);
+        List<Object> results = stringRedisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            connection.hashCommands().hGetAll(cacheKey);
+            connection.keyCommands().pTtl(cacheKey);
+            return connection.closePipeline();
+        });
+
+        @SuppressWarnings("unchecked")
+        Map<byte[], byte[]> bookData = (Map<byte[], byte[]>) results.get(0);
+        Book book = bookCacheCodec.decode(bookData);
+        if (book != null) {
             log.info("Redis Hash에서 도서 조회 성공 - BookId: {}", bookId);
-            return convertHashToBook(bookData);
+            bookNearCache.put(bookId, book);
+
+            if (results.get(1) instanceof Long remainingMillis && isRefreshDue(remainingMillis)) {
+                refreshAhead(bookId);
+            }
+        }
+
+        return book;
+    }
+
+    private boolean isRefreshDue(long remainingMillis) {
+        return remainingMillis > 0
+                && remainingMillis < Duration.ofDays(bookTtlDays).toMillis() * refreshAheadRatio;
+    }
+
+    /**
+     * 만료 임박 도서 비동기 갱신 (refresh-ahead)
+     * - 노드 내에서는 도서별 한 번만 예약, 노드 간에는 로딩 락으로 한 노드만 DB 조회
+     * - 재고는 주문 경로에서 Redis가 원본이므로 덮어쓰지 않고 도서 정보와 TTL만 갱신
+     */
+    private void refreshAhead(Integer bookId) {
+        if (!refreshing.add(bookId)) {
+            return;
+        }
+
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    refreshBook(bookId);
+                } catch (Exception e) {
+                    log.warn("도서 캐시 사전 갱신 실패 - BookId: {}", bookId, e);
+                } finally {
+                    refreshing.remove(bookId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshing.remove(bookId);
+            log.debug("도서 캐시 사전 갱신 작업 거부 - BookId: {}", bookId);
+        }
+    }
+
+    private void refreshBook(Integer bookId) {
+        String lockKey = LOAD_LOCK + bookId;
+        String lockToken = UUID.randomUUID().toString();
+
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(lockKey, lockToken, LOAD_LOCK_TTL);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return;
+        }
+
+        try {
+            Book book = bookRepository.findById(bookId).orElse(null);
+            if (book == null) {
+                stringRedisTemplate.delete(BOOK_CACHE + bookId);
+                bookNearCache.invalidate(bookId);
+                return;
+            }
+
+            syncCachedFields(bookId, jitteredTtlSeconds(),
+                    bookCacheCodec.staleFields(), bookCacheCodec.encodeDetails(book));
+            log.info("도서 캐시 사전 갱신 완료 - BookId: {}", bookId);
+        } finally {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(lockKey), lockToken);
+        }
+    }
+
+    /**
+     * 기본 TTL에 키별 무작위 편차를 더한 만료 시간 (동시 만료 방지)
+     */
+    private long jitteredTtlSeconds() {
+        long baseSeconds = Duration.ofDays(bookTtlDays).getSeconds();
+        long jitterSeconds = (long) (baseSeconds * ttlJitterRatio);
+        if (jitterSeconds <= 0) {
+            return baseSeconds;
+        }
+        return baseSeconds - jitterSeconds + ThreadLocalRandom.current().nextLong(2 * jitterSeconds + 1);
+    }
+
+    /**
+     * Redis 캐시 존재 여부
+     */
+    public boolean isCached(Integer bookId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(BOOK_CACHE + bookId));
+    }
+
+    /**
+     * 캐시 미스 시 단일 로딩 (single-flight)
+     * - 같은 JVM의 동시 요청은 하나의 로딩 결과를 공유
+     * - 노드 간에는 짧은 Redis 락으로 DB 조회를 한 번으로 제한
+     */
+    private Book loadThrough(Integer bookId) {
+        CompletableFuture<Book> load = new CompletableFuture<>();
+        CompletableFuture<Book> inFlight = inFlightLoads.putIfAbsent(bookId, load);
+
+        if (inFlight != null) {
+            log.debug("진행 중인 도서 로딩 대기 - BookId: {}", bookId);
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            Book book = loadWithLock(bookId);
+            load.complete(book);
+            return book;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(bookId, load);
+        }
+    }
+
+    private Book loadWithLock(Integer bookId) {
+        String lockKey = LOAD_LOCK + bookId;
+        String lockToken = UUID.randomUUID().toString();
+
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(lockKey, lockToken, LOAD_LOCK_TTL);
+
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                // 락 획득 직전에 다른 노드가 저장했을 수 있으므로 재확인
+                Book cached = getCachedBook(bookId);
+                if (cached != null) {
+                    return cached;
+                }
+
+                log.info("Redis 조회 실패 -> DB 조회 - BookId: {}", bookId);
+                Book book = findBookFromDB(bookId);
+
+                if (bookHotSetManager.admit(bookId)) {
+                    setBookRedis(bookId, book);
+                }
+                return book;
+            } finally {
+                stringRedisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(lockKey), lockToken);
+            }
+        }
+
+        // 다른 노드가 로딩 중 -> 캐시 저장을 잠시 기다림
+        for (int attempt = 0; attempt < LOAD_WAIT_RETRIES; attempt++) {
+            try {
+                Thread.sleep(LOAD_WAIT_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            Book cached = getCachedBook(bookId);
+            if (cached != null) {
+                return cached;
+            }
         }
 
+        log.warn("다른 노드의 도서 로딩 대기 시간 초과 -> DB 조회 - BookId: {}", bookId);
+        return findBookFromDB(bookId);
+    }
 
-        log.info("Redis 조회 실패 -> DB 조회 - BookId: {}", bookId);
+    /**
+     * DB 조회 (존재하지 않으면 음성 캐시에 기록)
+     */
+    private Book findBookFromDB(Integer bookId) {
         return bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("Book not found: " + bookId));
+                .orElseThrow(() -> {
+                    bookExistenceFilter.markMissing(bookId);
+                    return new IllegalArgumentException("Book not found: " + bookId);
+                });
     }
 
     /**
      * 도서를 Redis에 저장
      */
     public void setBookRedis(Integer bookId, Book book) {
-        String cacheKey = BOOK_CACHE + bookId;
+        int filled = setBooksRedis(List.of(book));
+
+        log.info("Redis 저장 {} - BookId: {}", filled > 0 ? "완료" : "생략", bookId);
+    }
 
-        Map<String, String> bookData = new HashMap<>();
-        bookData.put("bookId", String.valueOf(book.getBookId()));
-        bookData.put("title", book.getBookName());
-        bookData.put("imagePath", book.getBookImagePath());
-        bookData.put("author", book.getBookAuthor() != null ? book.getBookAuthor() : "");
-        bookData.put("publisher", book.getBookPublisher() != null ? book.getBookPublisher() : "");
-        bookData.put("price", String.valueOf(book.getBookDiscount()));
-        bookData.put("quantity", String.valueOf(book.getBookQuantity()));
-        bookData.put("isbn", book.getBookIsbn() != null ? book.getBookIsbn() : "");
+    /**
+     * 여러 도서를 Script 한 번으로 Redis에 저장
+     * - 재고는 DB 값이 아닌 스냅샷 값(DB 재고 - 미반영 차감 내역)으로 저장 (BookStockSnapshotReader)
+     * - 이미 캐시에 있는 재고는 덮어쓰지 않음 (도서 정보와 TTL만 갱신)
+     * - 현재 쓰기 포맷이 아닌 이전 레이아웃 필드는 제거, 키별로 분산된 TTL 적용
+     * @return 저장한 도서 수
+     */
+    public int setBooksRedis(List<Book> books) {
+        if (books.isEmpty()) {
+            return 0;
+        }
+
+        BookStockSnapshotReader.Snapshot snapshot =
+                bookStockSnapshotReader.read(books.stream().map(Book::getBookId).toList());
+        if (snapshot == null) {
+            return 0;
+        }
+
+        byte[][] staleFields = bookCacheCodec.staleFields();
+        List<String> keys = new ArrayList<>();
+        List<byte[]> args = new ArrayList<>();
+        args.add(bytes(snapshot.watermark()));
+        args.add(bytes(String.valueOf(staleFields.length)));
+        Collections.addAll(args, staleFields);
+
+        for (Book book : books) {
+            Integer quantity = snapshot.quantities().get(book.getBookId());
+            if (quantity == null) {
+                continue;
+            }
+
+            Map<byte[], byte[]> fields = bookCacheCodec.encodeDetails(book);
+            keys.add(BOOK_CACHE + book.getBookId());
+            args.add(bytes(String.valueOf(book.getBookId())));
+            args.add(bytes(String.valueOf(quantity)));
+            args.add(bytes(String.valueOf(jitteredTtlSeconds())));
+            args.add(bytes(String.valueOf(fields.size())));
+            fields.forEach((field, value) -> {
+                args.add(field);
+                args.add(value);
+            });
+        }
+
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        keys.add(STOCK_DELTA_STREAM);
+
+        Long filled = stringRedisTemplate.execute(
+                FILL_SCRIPT,
+                RedisSerializer.byteArray(),
+                LONG_RESULT,
+                keys,
+                args.toArray()
+        );
+
+        books.forEach(book -> bookNearCache.invalidate(book.getBookId()));
 
-        stringRedisTemplate.opsForHash().putAll(cacheKey, bookData);
-        stringRedisTemplate.expire(cacheKey, Duration.ofDays(7));
+        int filledCount = filled != null ? filled.intValue() : 0;
+        if (filledCount < keys.size() - 1) {
+            log.info("스냅샷 이후 재고 변동으로 캐시 저장 생략 - 대상: {}건, 저장: {}건", keys.size() - 1, filledCount);
+        }
+        return filledCount;
+    }
 
-        log.info("Redis 저장 완료 - BookId: {}, 재고: {}", bookId, book.getBookQuantity());
+    /**
+     * 캐시된 도서 정보 동기화 (write-through)
+     * - 캐시에 있는 도서만 필드 단위로 HSET
+     * - 재고는 Redis가 원본인 주문 경로와 충돌하지 않도록 제외
+     */
+    public void syncCachedBook(Book book) {
+        syncCachedFields(book.getBookId(), 0, bookCacheCodec.staleFields(), bookCacheCodec.encodeDetails(book));
+    }
+
+    /**
+     * 캐시된 도서 재고 상대 증감
+     * - DB 재고 전략으로 차감한 주문(캐시 미스 폴백 등)의 커밋 이후 사용
+     * - DB 값으로 덮어쓰지 않으므로 아직 반영되지 않은 차감 내역, 홀드/리스/샤드 이동분이 보존됨
+     */
+    public void adjustCachedQuantity(Integer bookId, int delta) {
+        Long adjusted = stringRedisTemplate.execute(ADJUST_QUANTITY_SCRIPT,
+                List.of(BOOK_CACHE + bookId, STOCK_DELTA_STREAM), String.valueOf(delta), String.valueOf(bookId));
+
+        if (adjusted != null && adjusted == 1) {
+            bookNearCache.invalidate(bookId);
+            log.info("캐시 재고 증감 완료 - BookId: {}, 증감: {}", bookId, delta);
+        }
+    }
+
+    private void syncCachedFields(Integer bookId, long ttlSeconds, byte[][] staleFields, Map<byte[], byte[]> fields) {
+        List<byte[]> args = new ArrayList<>();
+        args.add(bytes(String.valueOf(ttlSeconds)));
+        args.add(bytes(String.valueOf(staleFields.length)));
+        Collections.addAll(args, staleFields);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+
+        Long updated = stringRedisTemplate.execute(
+                SYNC_FIELDS_SCRIPT,
+                RedisSerializer.byteArray(),
+                LONG_RESULT,
+                Collections.singletonList(BOOK_CACHE + bookId),
+                args.toArray()
+        );
+
+        if (updated != null && updated == 1) {
+            bookNearCache.invalidate(bookId);
+            log.info("캐시 write-through 완료 - BookId: {}, 필드 수: {}", bookId, fields.size());
+        }
+    }
+
+    private static byte[] cacheKey(Integer bookId) {
+        return bytes(BOOK_CACHE + bookId);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 
     /**
      * Redis에서 재고 조회
+     * - 샤딩 도서는 도서 Hash의 남은 재고와 샤드 재고의 합계
      */
     public Integer getBookQuantity(Integer bookId) {
         String cacheKey = BOOK_CACHE + bookId;
 
-        Object quantity = stringRedisTemplate.opsForHash().get(cacheKey, "quantity");
+        Object quantity = stringRedisTemplate.opsForHash().get(cacheKey, BookCacheCodec.QUANTITY_FIELD);
+
+        if (bookStockShardManager.isSharded(bookId)) {
+            int sharded = bookStockShardManager.quantity(bookId);
+            return quantity != null ? Integer.parseInt((String) quantity) + sharded : sharded;
+        }
 
         if (quantity != null) {
             return Integer.valueOf((String) quantity);
@@ -87,8 +651,14 @@ public class BookCacheService {
 
     /**
      * Lua Script를 사용한 원자적 재고 차감
+     * - 차감 내역은 같은 Script에서 스트림에 기록 (DB 반영은 StockDeltaFlusher가 일괄 처리)
+     * - 샤딩 도서는 샤드에서 먼저 차감하고, 모든 샤드가 부족하면 도서 Hash의 남은 재고에서 차감
      */
     public Long decrementBookQuantity(Integer bookId, Integer quantity) {
+        if (bookStockShardManager.isSharded(bookId) && bookStockShardManager.tryDecrement(bookId, quantity)) {
+            return getBookQuantity(bookId).longValue();
+        }
+
         String cacheKey = BOOK_CACHE + bookId;
 
         String luaScript =
@@ -106,20 +676,24 @@ public class BookCacheService {
                         "    return -3 " +
                         "end " +
 
-                        // 4. 재고 부족 체크
-                        "if current < tonumber(ARGV[1]) then " +
+                        // 4. 재고 부족 체크 (다른 주문이 홀드한 수량 제외)
+                        "local reserved = tonumber(redis.call('HGET', KEYS[3], ARGV[2]) or '0') " +
+                        "if current - reserved < tonumber(ARGV[1]) then " +
                         "    return -2 " +
                         "end " +
 
-                        // 5. 재고 차감 (원자적 연산!)
-                        "return redis.call('HINCRBY', KEYS[1], 'quantity', -ARGV[1])";
+                        // 5. 재고 차감 (원자적 연산!) 및 차감 내역 기록
+                        "local remaining = redis.call('HINCRBY', KEYS[1], 'quantity', -ARGV[1]) " +
+                        "redis.call('XADD', KEYS[2], '*', 'bookId', ARGV[2], 'quantity', ARGV[1]) " +
+                        "return remaining";
 
         DefaultRedisScript<Long> redisScript = new DefaultRedisScript<>(luaScript, Long.class);
 
         Long result = stringRedisTemplate.execute(
                 redisScript,
-                Collections.singletonList(cacheKey),
-                quantity.toString()
+                List.of(cacheKey, STOCK_DELTA_STREAM, STOCK_RESERVED_KEY),
+                quantity.toString(),
+                bookId.toString()
         );
 
         if (result == null) {
@@ -144,6 +718,8 @@ public class BookCacheService {
             throw new IllegalStateException("재고가 부족합니다. 현재 재고: " + currentStock + " BookId: " + bookId);
         }
 
+        bookNearCache.invalidate(bookId);
+
         log.info("원자적 재고 차감 성공 - BookId: {}, 차감수량: {}, 남은재고: {}",
                 bookId, quantity, result);
 
@@ -151,43 +727,104 @@ public class BookCacheService {
     }
 
     /**
-     * Hash 데이터를 Book 객체로 변환
+     * 여러 도서 재고를 Lua Script 한 번으로 원자적으로 차감 (all-or-nothing)
+     * - 단일 Redis 인스턴스 기준 (클러스터 전환 시 키에 해시 태그 필요)
+     * - 한정 판매 도서 한 권 주문은 노드 로컬 리스에서 차감 (BookStockLeaseManager)
+     * - 샤딩 도서 한 권 주문은 샤드 카운터에서 먼저 차감 (BookStockShardManager)
+     * @param quantities 도서 ID별 차감 수량
      */
-    private Book convertHashToBook(Map<Object, Object> bookData) {
-        Book book = new Book();
-        book.setBookId(Integer.valueOf((String) bookData.get("bookId")));
-        book.setBookName((String) bookData.get("title"));
-        book.setBookImagePath((String) bookData.get("imagePath"));
-        book.setBookAuthor((String) bookData.get("author"));
-        book.setBookPublisher((String) bookData.get("publisher"));
-        book.setBookDiscount(Integer.valueOf((String) bookData.get("price")));
-        book.setBookQuantity(Integer.valueOf((String) bookData.get("quantity")));
-        book.setBookIsbn((String) bookData.get("isbn"));
+    public void decrementBookQuantities(Map<Integer, Integer> quantities) {
+        if (quantities.size() == 1) {
+            Map.Entry<Integer, Integer> item = quantities.entrySet().iterator().next();
+            if (bookStockLeaseManager.isLeased(item.getKey())) {
+                bookStockLeaseManager.decrement(item.getKey(), item.getValue());
+                return;
+            }
+            if (bookStockShardManager.isSharded(item.getKey())
+                    && bookStockShardManager.tryDecrement(item.getKey(), item.getValue())) {
+                return;
+            }
+        }
 
-        return book;
+        List<Integer> bookIds = new ArrayList<>(quantities.keySet());
+
+        List<String> keys = new ArrayList<>();
+        bookIds.forEach(bookId -> keys.add(BOOK_CACHE + bookId));
+        keys.add(STOCK_DELTA_STREAM);
+        keys.add(STOCK_RESERVED_KEY);
+
+        List<String> args = new ArrayList<>();
+        bookIds.forEach(bookId -> args.add(String.valueOf(quantities.get(bookId))));
+        bookIds.forEach(bookId -> args.add(String.valueOf(bookId)));
+
+        List<?> result = stringRedisTemplate.execute(MULTI_DECREMENT_SCRIPT, keys, args.toArray());
+
+        if (result == null || result.size() < 2) {
+            log.error("Lua Script 실행 실패 - BookIds: {}", bookIds);
+            throw new RuntimeException("재고 차감 실패");
+        }
+
+        long code = ((Number) result.get(0)).longValue();
+        if (code == 0) {
+            bookIds.forEach(bookNearCache::invalidate);
+            log.info("장바구니 재고 일괄 차감 성공 - 항목: {}", quantities);
+            return;
+        }
+
+        Integer failedBookId = bookIds.get(((Number) result.get(1)).intValue() - 1);
+
+        if (code == -1) {
+            log.error("재고 정보 없음 - BookId: {}", failedBookId);
+            throw new IllegalArgumentException("재고 정보가 존재하지 않습니다: " + failedBookId);
+        }
+
+        if (code == -3) {
+            log.error("재고 데이터 타입 오류 - BookId: {}", failedBookId);
+            throw new IllegalStateException("재고 데이터 타입 오류. Redis 데이터를 확인하세요.");
+        }
+
+        Integer currentStock = getBookQuantity(failedBookId);
+        log.error("재고 부족 - BookId: {}, 요청수량: {}, 현재재고: {}",
+                failedBookId, quantities.get(failedBookId), currentStock);
+        throw new IllegalStateException("재고가 부족합니다. 현재 재고: " + currentStock + " BookId: " + failedBookId);
     }
 
     /**
-     * 주문량 상위 20% 도서를 Redis에 저장
+     * 주문량 상위 20% 도서를 Redis에 저장 (애플리케이션 시작 시 초기 캐시)
+     * - 이후 캐시 대상은 BookHotSetManager가 접근 빈도에 따라 계속 교체
+     * - 도서 ID만 먼저 집계한 뒤 청크 단위로 조회/파이프라인 저장
+     * - 청크마다 엔티티를 새로 조회하므로 트랜잭션으로 묶지 않음 (영속성 컨텍스트 누적 방지)
      */
-    @Scheduled(cron = "0 0 4 * * 1")
-    @Transactional(readOnly = true)
     public void BookToRedis() {
 
         int cachedCount = 0;
 
         try {
             long totalCount = bookRepository.count();
-            int top20Count = (int) Math.ceil(totalCount * 0.2);
+            int top20Count = (int) Math.min(Math.ceil(totalCount * 0.2), bookHotSetManager.capacity());
+
+            List<Integer> bookIds = bookRepository.findTopBookIdsByOrderCount(top20Count);
+            long startTime = System.currentTimeMillis();
 
-            List<Book> books = bookRepository.findByTop20ByOrderCount(top20Count);
+            for (int from = 0; from < bookIds.size(); from += warmChunkSize) {
+                List<Integer> chunk = bookIds.subList(from, Math.min(from + warmChunkSize, bookIds.size()));
 
-            for (Book book : books) {
-                setBookRedis(book.getBookId(), book);
-                cachedCount++;
+                List<Book> books = bookRepository.findAllById(chunk);
+                setBooksRedis(books);
+                bookHotSetManager.register(chunk);
+                cachedCount += books.size();
+
+                long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+                log.info("Redis 캐시 워밍 진행 - {}/{} ({}%), 처리량: {}건/초",
+                        cachedCount, bookIds.size(),
+                        cachedCount * 100 / Math.max(1, bookIds.size()),
+                        cachedCount * 1000L / elapsed);
             }
 
-            log.info("Redis 저장 완료. 완료된 책 개수: {}", cachedCount);
+            bookNearCache.invalidateAll();
+
+            log.info("Redis 저장 완료. 완료된 책 개수: {}, 소요시간: {}ms",
+                    cachedCount, System.currentTimeMillis() - startTime);
         } catch (Exception e) {
             log.error("Redis 저장 실패. 완료된 책 개수: {}", cachedCount, e);
         }
@@ -0,0 +1,324 @@
+package com.fastcampus.book_bot.service.book;
+
+import com.fastcampus.book_bot.repository.BookRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 도서 존재 여부 필터
+ * - 전체 BOOK_ID에 대한 Bloom Filter로 존재할 수 없는 ID를 DB 조회 없이 거절
+ * - Bloom Filter 오탐(false positive)은 짧은 TTL의 Redis 음성 캐시로 흡수
+ * - 신규 도서는 Redis Pub/Sub으로 모든 노드의 필터에 반영
+ * - 초기 적재 전에는 모든 ID를 존재 가능으로 처리
+ */
+@Component
+@Slf4j
+public class BookExistenceFilter implements MessageListener {
+
+    public static final String CREATED_CHANNEL = "book:created";
+    private static final String MISSING_KEY = "missing:book:";
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    private final BookRepository bookRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedBooks;
+    private final double falsePositiveRate;
+    private final Duration negativeTtl;
+
+    private final Counter rejectedCounter;
+    private final Counter negativeHitCounter;
+    private final Counter falsePositiveCounter;
+
+    private volatile BloomBits bits;
+    private volatile boolean ready = false;
+
+    public BookExistenceFilter(BookRepository bookRepository,
+                               StringRedisTemplate stringRedisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               MeterRegistry meterRegistry,
+                               @Value("${book.existence-filter.expected-books:1000000}") long expectedBooks,
+                               @Value("${book.existence-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${book.existence-filter.negative-ttl-seconds:60}") long negativeTtlSeconds) {
+        this.bookRepository = bookRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedBooks = expectedBooks;
+        this.falsePositiveRate = falsePositiveRate;
+        this.negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.bits = new BloomBits(expectedBooks, falsePositiveRate);
+
+        this.rejectedCounter = meterRegistry.counter("book.existence.filter.rejected");
+        this.negativeHitCounter = meterRegistry.counter("book.existence.negative.hit");
+        this.falsePositiveCounter = meterRegistry.counter("book.existence.filter.false_positive");
+        Gauge.builder("book.existence.filter.expected_fpp", this, BookExistenceFilter::expectedFalsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CREATED_CHANNEL));
+    }
+
+    /**
+     * 존재 가능 여부 (false면 DB에 없는 것이 확실)
+     */
+    public boolean mightExist(Integer bookId) {
+        if (bookId == null || bookId <= 0) {
+            rejectedCounter.increment();
+            return false;
+        }
+
+        if (ready && !bits.mightContain(bookId)) {
+            rejectedCounter.increment();
+            return false;
+        }
+
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(MISSING_KEY + bookId))) {
+            negativeHitCounter.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * 여러 ID 중 존재 가능한 ID만 반환 (음성 캐시는 파이프라인으로 한 번에 확인)
+     */
+    public List<Integer> filterMightExist(Collection<Integer> bookIds) {
+        List<Integer> candidates = new ArrayList<>();
+        for (Integer bookId : bookIds) {
+            if (bookId == null || bookId <= 0 || (ready && !bits.mightContain(bookId))) {
+                rejectedCounter.increment();
+            } else {
+                candidates.add(bookId);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        List<Object> missing = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Integer bookId : candidates) {
+                stringConnection.exists(MISSING_KEY + bookId);
+            }
+            return null;
+        });
+
+        List<Integer> result = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            if (Boolean.TRUE.equals(missing.get(i))) {
+                negativeHitCounter.increment();
+            } else {
+                result.add(candidates.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * DB 조회 결과 존재하지 않는 ID 기록 (음성 캐시)
+     */
+    public void markMissing(Integer bookId) {
+        if (ready && bits.mightContain(bookId)) {
+            falsePositiveCounter.increment();
+        }
+
+        try {
+            stringRedisTemplate.opsForValue().set(MISSING_KEY + bookId, "1", negativeTtl);
+        } catch (Exception e) {
+            log.warn("음성 캐시 저장 실패 - BookId: {}", bookId, e);
+        }
+    }
+
+    /**
+     * 여러 ID를 음성 캐시에 기록 (파이프라인)
+     */
+    public void markMissing(Collection<Integer> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+
+        for (Integer bookId : bookIds) {
+            if (ready && bits.mightContain(bookId)) {
+                falsePositiveCounter.increment();
+            }
+        }
+
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (Integer bookId : bookIds) {
+                    stringConnection.setEx(MISSING_KEY + bookId, negativeTtl.getSeconds(), "1");
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("음성 캐시 저장 실패 - BookIds: {}", bookIds, e);
+        }
+    }
+
+    /**
+     * 신규 도서 등록 (모든 노드에 전파)
+     */
+    public void add(Integer bookId) {
+        bits.put(bookId);
+
+        try {
+            stringRedisTemplate.delete(MISSING_KEY + bookId);
+            stringRedisTemplate.convertAndSend(CREATED_CHANNEL, String.valueOf(bookId));
+        } catch (Exception e) {
+            log.warn("신규 도서 존재 정보 전파 실패 - BookId: {}", bookId, e);
+        }
+    }
+
+    /**
+     * 전체 BOOK_ID로 필터 재구성 (키셋 페이징)
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        BloomBits rebuilt = new BloomBits(expectedBooks, falsePositiveRate);
+
+        // 재구성 중 추가되는 도서를 놓치지 않도록 기존 필터도 계속 사용
+        BloomBits previous = this.bits;
+        int loaded = 0;
+        int lastId = 0;
+
+        while (true) {
+            List<Integer> ids = bookRepository.findBookIdsAfter(lastId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            ids.forEach(rebuilt::put);
+            loaded += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        rebuilt.merge(previous);
+        this.bits = rebuilt;
+        this.ready = true;
+
+        log.info("도서 존재 필터 구성 완료 - 도서 수: {}, 예상 오탐률: {}, 소요시간: {}ms",
+                loaded, String.format("%.5f", expectedFalsePositiveRate()), System.currentTimeMillis() - startTime);
+    }
+
+    public double expectedFalsePositiveRate() {
+        return bits.expectedFalsePositiveRate();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            bits.put(Integer.parseInt(body));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 신규 도서 메시지: {}", body);
+        }
+    }
+
+    /**
+     * Bloom Filter 비트 배열 (lock-free)
+     */
+    private static class BloomBits {
+
+        private final AtomicLongArray words;
+        private final long bitSize;
+        private final int hashCount;
+        private final LongAdder setBits = new LongAdder();
+
+        BloomBits(long expectedItems, double falsePositiveRate) {
+            long n = Math.max(1, expectedItems);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitSize = Math.max(64, m);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+        }
+
+        void put(int value) {
+            long hash = mix(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+
+            for (int i = 0; i < hashCount; i++) {
+                setBit(index(h1 + i * h2));
+            }
+        }
+
+        boolean mightContain(int value) {
+            long hash = mix(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+
+            for (int i = 0; i < hashCount; i++) {
+                long index = index(h1 + i * h2);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void merge(BloomBits other) {
+            if (other.bitSize != bitSize) {
+                return;
+            }
+            for (int i = 0; i < words.length(); i++) {
+                long word = other.words.get(i);
+                if (word != 0) {
+                    long previous = words.getAndAccumulate(i, word, (a, b) -> a | b);
+                    setBits.add(Long.bitCount(word & ~previous));
+                }
+            }
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow((double) setBits.sum() / bitSize, hashCount);
+        }
+
+        private void setBit(long index) {
+            int wordIndex = (int) (index >>> 6);
+            long mask = 1L << index;
+            long previous = words.getAndAccumulate(wordIndex, mask, (a, b) -> a | b);
+            if ((previous & mask) == 0) {
+                setBits.increment();
+            }
+        }
+
+        private long index(int combinedHash) {
+            return (combinedHash & Integer.MAX_VALUE) % bitSize;
+        }
+
+        private static long mix(int value) {
+            long z = value * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.fastcampus.book_bot.service.book;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용량 기반 도서 캐시 대상 관리 (TinyLFU 방식 admission)
+ * - getBook / 최근 본 상품 접근을 빈도 추정기에 기록
+ * - 캐시된 도서 목록은 Redis ZSet(book:hotset)에 마지막 접근 시각으로 관리
+ * - 메모리 예산을 초과하면 가장 오래 접근되지 않은 도서와 빈도를 비교해 교체 여부 결정
+ * - 교체 시 도서 정보 필드만 삭제하고 재고(quantity)는 유지 (Redis가 재고 원본, 남은 TTL 후 만료)
+ */
+@Component
+@Slf4j
+public class BookHotSetManager {
+
+    private static final String HOT_SET_KEY = "book:hotset";
+    private static final String BOOK_CACHE = "book:";
+    private static final long DEFAULT_ENTRY_BYTES = 512;
+    private static final int MEMORY_SAMPLE_COUNT = 5;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BookNearCache bookNearCache;
+    private final BookCacheCodec bookCacheCodec;
+    private final BookAccessSketch accessSketch;
+    private final long memoryBudgetBytes;
+    private final Set<Integer> pendingTouches = ConcurrentHashMap.newKeySet();
+
+    private final Counter admittedCounter;
+    private final Counter rejectedCounter;
+    private final Counter evictedCounter;
+
+    private volatile long averageEntryBytes = DEFAULT_ENTRY_BYTES;
+
+    public BookHotSetManager(StringRedisTemplate stringRedisTemplate,
+                             BookNearCache bookNearCache,
+                             BookCacheCodec bookCacheCodec,
+                             MeterRegistry meterRegistry,
+                             @Value("${book.cache.hot-set.memory-budget-mb:64}") long memoryBudgetMb,
+                             @Value("${book.cache.hot-set.expected-books:100000}") int expectedBooks) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.bookNearCache = bookNearCache;
+        this.bookCacheCodec = bookCacheCodec;
+        this.memoryBudgetBytes = memoryBudgetMb * 1024 * 1024;
+        this.accessSketch = new BookAccessSketch(expectedBooks);
+
+        this.admittedCounter = meterRegistry.counter("book.hotset.admission", "result", "admitted");
+        this.rejectedCounter = meterRegistry.counter("book.hotset.admission", "result", "rejected");
+        this.evictedCounter = meterRegistry.counter("book.hotset.eviction");
+        Gauge.builder("book.hotset.capacity", this, BookHotSetManager::capacity).register(meterRegistry);
+        // 도서 캐시 포맷별 Redis 메모리 비교용 (MEMORY USAGE 표본 평균)
+        Gauge.builder("book.hotset.entry.bytes", this, manager -> manager.averageEntryBytes).register(meterRegistry);
+    }
+
+    /**
+     * 도서 접근 기록
+     * - 빈도 추정기는 즉시 갱신, Redis 접근 시각은 주기적으로 일괄 반영
+     */
+    public void recordAccess(Integer bookId) {
+        accessSketch.increment(bookId);
+        pendingTouches.add(bookId);
+    }
+
+    /**
+     * 캐시 미스로 로딩된 도서의 Redis 캐시 허용 여부
+     * - 예산 여유가 있으면 허용
+     * - 예산이 가득 찼으면 가장 오래된 도서보다 접근 빈도가 높을 때만 교체
+     */
+    public boolean admit(Integer bookId) {
+        ZSetOperations<String, String> zSet = stringRedisTemplate.opsForZSet();
+
+        Long size = zSet.size(HOT_SET_KEY);
+        if (size == null || size < capacity()) {
+            zSet.add(HOT_SET_KEY, bookId.toString(), System.currentTimeMillis());
+            admittedCounter.increment();
+            return true;
+        }
+
+        Set<String> oldest = zSet.range(HOT_SET_KEY, 0, 0);
+        if (oldest == null || oldest.isEmpty()) {
+            zSet.add(HOT_SET_KEY, bookId.toString(), System.currentTimeMillis());
+            admittedCounter.increment();
+            return true;
+        }
+
+        Integer victimId = Integer.valueOf(oldest.iterator().next());
+        int candidateFrequency = accessSketch.frequency(bookId);
+        int victimFrequency = accessSketch.frequency(victimId);
+
+        if (candidateFrequency <= victimFrequency) {
+            log.debug("캐시 허용 거부 - BookId: {} (빈도 {}), 대상: {} (빈도 {})",
+                    bookId, candidateFrequency, victimId, victimFrequency);
+            rejectedCounter.increment();
+            return false;
+        }
+
+        evict(List.of(victimId));
+        zSet.add(HOT_SET_KEY, bookId.toString(), System.currentTimeMillis());
+        admittedCounter.increment();
+
+        log.info("캐시 교체 - 추가: {} (빈도 {}), 제거: {} (빈도 {})",
+                bookId, candidateFrequency, victimId, victimFrequency);
+        return true;
+    }
+
+    /**
+     * 일괄 워밍된 도서를 캐시 대상으로 등록
+     */
+    public void register(Collection<Integer> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+
+        double now = System.currentTimeMillis();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Integer bookId : bookIds) {
+                stringConnection.zAdd(HOT_SET_KEY, now, bookId.toString());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 현재 메모리 예산으로 캐시 가능한 도서 수
+     */
+    public long capacity() {
+        return Math.max(1, memoryBudgetBytes / Math.max(1, averageEntryBytes));
+    }
+
+    /**
+     * 최근 접근 시각 일괄 반영 (이미 캐시된 도서만 갱신)
+     */
+    @Scheduled(fixedDelay = 5_000)
+    public void flushAccessTimes() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+
+        List<Integer> touched = new ArrayList<>(pendingTouches);
+        pendingTouches.removeAll(touched);
+
+        double now = System.currentTimeMillis();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Integer bookId : touched) {
+                stringConnection.zAdd(HOT_SET_KEY, now, bookId.toString(), RedisZSetCommands.ZAddArgs.ifExists());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 항목당 메모리 사용량을 표본 측정하고 예산 초과분을 정리
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void rebalance() {
+        try {
+            sampleEntrySize();
+
+            long capacity = capacity();
+            Long size = stringRedisTemplate.opsForZSet().size(HOT_SET_KEY);
+            if (size == null || size <= capacity) {
+                return;
+            }
+
+            Set<ZSetOperations.TypedTuple<String>> overflow =
+                    stringRedisTemplate.opsForZSet().popMin(HOT_SET_KEY, size - capacity);
+
+            if (overflow != null && !overflow.isEmpty()) {
+                List<Integer> victims = overflow.stream()
+                        .map(tuple -> Integer.valueOf(tuple.getValue()))
+                        .toList();
+                evict(victims);
+                log.info("캐시 예산 초과 정리 - 제거: {}건, 용량: {}건, 항목당 약 {}bytes",
+                        victims.size(), capacity, averageEntryBytes);
+            }
+        } catch (Exception e) {
+            log.error("캐시 대상 재조정 실패", e);
+        }
+    }
+
+    /**
+     * 캐시 대상 제외 (도서 정보 필드만 삭제, 재고 필드는 주문 경로가 계속 사용)
+     */
+    private void evict(List<Integer> bookIds) {
+        byte[][] detailFields = bookCacheCodec.detailFields();
+        stringRedisTemplate.opsForZSet().remove(HOT_SET_KEY, bookIds.stream().map(String::valueOf).toArray());
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Integer bookId : bookIds) {
+                connection.hashCommands().hDel((BOOK_CACHE + bookId).getBytes(StandardCharsets.UTF_8), detailFields);
+            }
+            return null;
+        });
+        bookIds.forEach(bookNearCache::invalidate);
+        evictedCounter.increment(bookIds.size());
+    }
+
+    private void sampleEntrySize() {
+        List<String> sample = stringRedisTemplate.opsForZSet().randomMembers(HOT_SET_KEY, MEMORY_SAMPLE_COUNT);
+        if (sample == null || sample.isEmpty()) {
+            return;
+        }
+
+        long total = 0;
+        int measured = 0;
+        for (String bookId : sample) {
+            byte[] key = (BOOK_CACHE + bookId).getBytes(StandardCharsets.UTF_8);
+            Object usage = stringRedisTemplate.execute((RedisCallback<Object>) connection ->
+                    connection.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), key));
+            if (usage instanceof Number bytes) {
+                total += bytes.longValue();
+                measured++;
+            }
+        }
+
+        if (measured > 0) {
+            averageEntryBytes = total / measured;
+        }
+    }
+}
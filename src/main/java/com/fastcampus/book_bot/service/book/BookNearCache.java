@@ -0,0 +1,150 @@
+package com.fastcampus.book_bot.service.book;
+
+import com.fastcampus.book_bot.domain.book.Book;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 도서 로컬(L1) 캐시
+ * - Redis Hash(book:{id}) 앞단의 노드별 인메모리 캐시
+ * - 크기/TTL 제한, 적중률 및 eviction 통계 기록
+ * - Redis Pub/Sub 채널을 통해 모든 노드의 항목을 무효화
+ * - 무효화 메시지와 동시에 진행된 조회가 이전 값을 적재할 수 있으므로 TTL은 짧게 유지
+ */
+@Component
+@Slf4j
+public class BookNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "book:invalidate";
+    private static final String INVALIDATE_ALL = "*";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<Integer, Book> cache;
+
+    public BookNearCache(StringRedisTemplate stringRedisTemplate,
+                         RedisMessageListenerContainer listenerContainer,
+                         MeterRegistry meterRegistry,
+                         @Value("${book.cache.near.maximum-size:1000}") long maximumSize,
+                         @Value("${book.cache.near.expire-after-write-seconds:30}") long expireAfterWriteSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "book.near");
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 로컬 캐시 조회 (없으면 null)
+     */
+    public Book get(Integer bookId) {
+        Book cached = cache.getIfPresent(bookId);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    /**
+     * 로컬 캐시 저장
+     */
+    public void put(Integer bookId, Book book) {
+        cache.put(bookId, copyOf(book));
+    }
+
+    /**
+     * 전체 노드의 해당 도서 로컬 캐시 무효화
+     */
+    public void invalidate(Integer bookId) {
+        cache.invalidate(bookId);
+        publish(String.valueOf(bookId));
+    }
+
+    /**
+     * 전체 노드의 로컬 캐시 전체 무효화
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        publish(INVALIDATE_ALL);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 다른 노드에서 발행한 무효화 메시지 처리
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        if (INVALIDATE_ALL.equals(body)) {
+            cache.invalidateAll();
+            return;
+        }
+
+        try {
+            cache.invalidate(Integer.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 로컬 캐시 무효화 메시지: {}", body);
+        }
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void logStats() {
+        CacheStats stats = cache.stats();
+        log.info("도서 로컬 캐시 통계 - 크기: {}, 적중률: {}, 적중: {}, 미스: {}, eviction: {}",
+                cache.estimatedSize(), String.format("%.3f", stats.hitRate()),
+                stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    private void publish(String body) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, body);
+        } catch (Exception e) {
+            log.warn("로컬 캐시 무효화 메시지 발행 실패: {}", body, e);
+        }
+    }
+
+    private Book copyOf(Book book) {
+        return Book.builder()
+                .bookId(book.getBookId())
+                .bookName(book.getBookName())
+                .bookAuthor(book.getBookAuthor())
+                .bookPublisher(book.getBookPublisher())
+                .bookDescription(book.getBookDescription())
+                .bookPubdate(book.getBookPubdate())
+                .bookDiscount(book.getBookDiscount())
+                .bookLink(book.getBookLink())
+                .bookImagePath(book.getBookImagePath())
+                .bookIsbn(book.getBookIsbn())
+                .bookQuantity(book.getBookQuantity())
+                .updatedBy(book.getUpdatedBy())
+                .createdAt(book.getCreatedAt())
+                .updatedAt(book.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,13 +1,18 @@
 package com.fastcampus.book_bot.service.book;
 
+import com.fastcampus.book_bot.common.exception.book.BookDomainException;
+import com.fastcampus.book_bot.common.exception.book.BookErrorCode;
 import com.fastcampus.book_bot.domain.book.Book;
 import com.fastcampus.book_bot.repository.BookRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,9 +20,17 @@ import java.util.Optional;
 public class BookSearchService {
 
     private final BookRepository bookRepository;
+    private final BookExistenceFilter bookExistenceFilter;
+    private final BookCacheService bookCacheService;
+    private final int batchMaxIds;
 
-    public BookSearchService(BookRepository bookRepository) {
+    public BookSearchService(BookRepository bookRepository, BookExistenceFilter bookExistenceFilter,
+                             BookCacheService bookCacheService,
+                             @Value("${book.batch.max-ids:50}") int batchMaxIds) {
         this.bookRepository = bookRepository;
+        this.bookExistenceFilter = bookExistenceFilter;
+        this.bookCacheService = bookCacheService;
+        this.batchMaxIds = batchMaxIds;
     }
 
     @Transactional(readOnly = true)
@@ -45,12 +58,18 @@ public class BookSearchService {
     public Optional<Book> getBookById(Integer bookId) {
         log.info("도서 상세 조회 - bookId: {}", bookId);
 
+        if (!bookExistenceFilter.mightExist(bookId)) {
+            log.warn("존재하지 않는 도서 ID - DB 조회 생략. ID: {}", bookId);
+            return Optional.empty();
+        }
+
         try {
             Optional<Book> book = bookRepository.findById(bookId);
             if (book.isPresent()) {
                 return book;
             } else {
                 log.warn("도서를 찾을 수 없습니다. ID: {}", bookId);
+                bookExistenceFilter.markMissing(bookId);
                 return Optional.empty();
             }
         } catch (Exception e) {
@@ -58,4 +77,27 @@ public class BookSearchService {
             return Optional.empty();
         }
     }
+
+    /**
+     * 도서 일괄 조회 (목록/그리드 화면용)
+     * - 요청 ID 수는 book.batch.max-ids로 제한
+     */
+    public List<Book> getBooksByIds(List<Integer> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            throw BookDomainException.badRequest(
+                    BookErrorCode.INVALID_DATA.getMessage(),
+                    BookErrorCode.INVALID_DATA.getCode()
+            );
+        }
+
+        if (bookIds.size() > batchMaxIds) {
+            throw BookDomainException.badRequest(
+                    "한 번에 조회할 수 있는 도서는 최대 " + batchMaxIds + "권입니다",
+                    BookErrorCode.INVALID_DATA.getCode(),
+                    Map.of("maxIds", batchMaxIds, "requested", bookIds.size())
+            );
+        }
+
+        return bookCacheService.getBooks(bookIds);
+    }
 }
@@ -0,0 +1,306 @@
+package com.fastcampus.book_bot.service.book;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 한정 판매 도서 재고 리스 (book.stock.lease.enabled=true)
+ * - stock:lease:books Set에 등록된 도서는 노드가 Redis 재고에서 블록 단위로 수량을 임대받아 로컬 카운터로 판매
+ * - 임대 시 블록 전체를 Redis 재고에서 차감하고 차감 내역을 기록하므로 다른 노드와 합쳐도 초과 판매 없음
+ * - 리스 만료, 한정 판매 해제, 노드 종료 시 남은 수량을 Redis 재고와 DB(음수 차감 내역)에 반환
+ * - 노드가 비정상 종료되면 남은 수량은 반환되지 않음 (stock:leases에서 노드별 임대 수량 확인 가능)
+ */
+@Component
+@Slf4j
+public class BookStockLeaseManager {
+
+    /** 리스 대상 도서 ID Set (운영자가 한정 판매 시작/종료 시 등록/삭제) */
+    public static final String LEASE_BOOKS_KEY = "stock:lease:books";
+
+    /** 노드별 임대 수량 ({bookId}:{nodeId} -> 수량) */
+    private static final String LEASES_KEY = "stock:leases";
+    private static final String BOOK_CACHE = "book:";
+
+    private static final DefaultRedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 도서 키, 홀드 수량 Hash, 차감 내역 스트림, 리스 Hash
+            // ARGV: 블록 크기, 최소 수량, 도서 ID, 리스 필드
+            // 반환: 임대 수량, -1: 재고 정보 없음, -2: 재고 부족, -3: 타입 오류
+            "local current = redis.call('HGET', KEYS[1], 'quantity') " +
+                    "if current == false then " +
+                    "    return -1 " +
+                    "end " +
+                    "current = tonumber(current) " +
+                    "if current == nil then " +
+                    "    return -3 " +
+                    "end " +
+                    "local available = current - tonumber(redis.call('HGET', KEYS[2], ARGV[3]) or '0') " +
+                    "if available < tonumber(ARGV[2]) then " +
+                    "    return -2 " +
+                    "end " +
+                    "local units = math.min(tonumber(ARGV[1]), available) " +
+                    "redis.call('HINCRBY', KEYS[1], 'quantity', -units) " +
+                    "redis.call('XADD', KEYS[3], '*', 'bookId', ARGV[3], 'quantity', units) " +
+                    "redis.call('HINCRBY', KEYS[4], ARGV[4], units) " +
+                    "return units",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> RETURN_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 도서 키, 차감 내역 스트림, 리스 Hash
+            // ARGV: 반환 수량, 도서 ID, 리스 필드, 임대 수량
+            // 캐시가 만료된 경우 Redis에는 반환하지 않고 DB에만 반영 (다음 캐시 적재 시 DB 값 사용)
+            "local unused = tonumber(ARGV[1]) " +
+                    "if unused > 0 then " +
+                    "    if redis.call('EXISTS', KEYS[1]) == 1 then " +
+                    "        redis.call('HINCRBY', KEYS[1], 'quantity', unused) " +
+                    "    end " +
+                    "    redis.call('XADD', KEYS[2], '*', 'bookId', ARGV[2], 'quantity', -unused) " +
+                    "end " +
+                    "if redis.call('HINCRBY', KEYS[3], ARGV[3], -tonumber(ARGV[4])) <= 0 then " +
+                    "    redis.call('HDEL', KEYS[3], ARGV[3]) " +
+                    "end " +
+                    "return unused",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BookNearCache bookNearCache;
+    private final boolean enabled;
+    private final int blockSize;
+    private final Duration leaseTtl;
+    private final String nodeId = "node-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final ConcurrentHashMap<Integer, Lease> leases = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Object> acquireLocks = new ConcurrentHashMap<>();
+    private volatile Set<Integer> leaseBooks = Set.of();
+
+    private final Counter leasedUnitsCounter;
+    private final Counter returnedUnitsCounter;
+    private final Counter localSalesCounter;
+
+    public BookStockLeaseManager(StringRedisTemplate stringRedisTemplate,
+                                 BookNearCache bookNearCache,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${book.stock.lease.enabled:false}") boolean enabled,
+                                 @Value("${book.stock.lease.block-size:50}") int blockSize,
+                                 @Value("${book.stock.lease.ttl-seconds:10}") long leaseTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.bookNearCache = bookNearCache;
+        this.enabled = enabled;
+        this.blockSize = blockSize;
+        this.leaseTtl = Duration.ofSeconds(leaseTtlSeconds);
+
+        this.leasedUnitsCounter = meterRegistry.counter("book.stock.lease.units", "result", "leased");
+        this.returnedUnitsCounter = meterRegistry.counter("book.stock.lease.units", "result", "returned");
+        this.localSalesCounter = meterRegistry.counter("book.stock.lease.local_sales");
+    }
+
+    /**
+     * 리스 대상 도서 여부 (로컬에 캐시된 대상 목록 기준)
+     */
+    public boolean isLeased(Integer bookId) {
+        return enabled && leaseBooks.contains(bookId);
+    }
+
+    /**
+     * 로컬 리스에서 재고 차감
+     * - 리스 수량으로 충분하면 Redis 호출 없이 CAS로 차감
+     * - 부족하거나 만료되었으면 남은 수량을 반환하고 새 블록 임대 (도서별로 한 스레드만 임대)
+     * @throws IllegalArgumentException 재고 정보 없음 (Redis 미캐시)
+     * @throws IllegalStateException 재고 부족
+     */
+    public void decrement(Integer bookId, int quantity) {
+        Lease lease = leases.get(bookId);
+        if (lease != null && lease.trySell(quantity)) {
+            localSalesCounter.increment();
+            return;
+        }
+
+        synchronized (acquireLocks.computeIfAbsent(bookId, id -> new Object())) {
+            lease = leases.get(bookId);
+            if (lease != null && lease.trySell(quantity)) {
+                localSalesCounter.increment();
+                return;
+            }
+
+            if (lease != null) {
+                settle(lease);
+            }
+
+            Lease acquired = acquire(bookId, quantity);
+            acquired.trySell(quantity);
+            leases.put(bookId, acquired);
+            localSalesCounter.increment();
+        }
+    }
+
+    /**
+     * 만료된 리스 반환
+     */
+    @Scheduled(fixedDelay = 1_000)
+    public void settleExpiredLeases() {
+        leases.values().stream()
+                .filter(Lease::isExpired)
+                .forEach(this::settleSafely);
+    }
+
+    /**
+     * 리스 대상 도서 목록 갱신 (대상에서 빠진 도서의 리스는 반환)
+     */
+    @Scheduled(fixedDelay = 5_000)
+    public void refreshLeaseBooks() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Set<String> members = stringRedisTemplate.opsForSet().members(LEASE_BOOKS_KEY);
+            leaseBooks = members == null ? Set.of() : members.stream()
+                    .map(Integer::valueOf)
+                    .collect(Collectors.toUnmodifiableSet());
+
+            leases.values().stream()
+                    .filter(lease -> !leaseBooks.contains(lease.bookId))
+                    .forEach(this::settleSafely);
+        } catch (Exception e) {
+            log.warn("리스 대상 도서 목록 갱신 실패 - 기존 목록 유지", e);
+        }
+    }
+
+    /**
+     * 노드 종료 시 모든 리스 반환
+     */
+    @PreDestroy
+    public void releaseAll() {
+        if (leases.isEmpty()) {
+            return;
+        }
+
+        log.info("노드 종료 - 재고 리스 반환 - {}건", leases.size());
+        leases.values().forEach(this::settleSafely);
+    }
+
+    private Lease acquire(Integer bookId, int quantity) {
+        Long units = stringRedisTemplate.execute(
+                LEASE_SCRIPT,
+                List.of(BOOK_CACHE + bookId, BookCacheService.STOCK_RESERVED_KEY,
+                        BookCacheService.STOCK_DELTA_STREAM, LEASES_KEY),
+                String.valueOf(Math.max(blockSize, quantity)),
+                String.valueOf(quantity),
+                String.valueOf(bookId),
+                leaseField(bookId)
+        );
+
+        if (units == null) {
+            log.error("재고 리스 Lua Script 실행 실패 - BookId: {}", bookId);
+            throw new RuntimeException("재고 차감 실패");
+        }
+
+        if (units == -1) {
+            throw new IllegalArgumentException("재고 정보가 존재하지 않습니다: " + bookId);
+        }
+
+        if (units == -3) {
+            log.error("재고 데이터 타입 오류 - BookId: {}", bookId);
+            throw new IllegalStateException("재고 데이터 타입 오류. Redis 데이터를 확인하세요.");
+        }
+
+        if (units == -2) {
+            log.warn("재고 부족으로 리스 실패 - BookId: {}, 요청수량: {}", bookId, quantity);
+            throw new IllegalStateException("재고가 부족합니다. BookId: " + bookId);
+        }
+
+        bookNearCache.invalidate(bookId);
+        leasedUnitsCounter.increment(units);
+        log.info("재고 리스 - BookId: {}, 수량: {}, 노드: {}", bookId, units, nodeId);
+
+        return new Lease(bookId, units.intValue(), System.nanoTime() + leaseTtl.toNanos());
+    }
+
+    private void settleSafely(Lease lease) {
+        synchronized (acquireLocks.computeIfAbsent(lease.bookId, id -> new Object())) {
+            if (leases.get(lease.bookId) != lease) {
+                return;
+            }
+            try {
+                settle(lease);
+            } catch (Exception e) {
+                // 반환 실패 시 남은 수량은 유실되므로 (초과 판매는 아님) 로그로 남김
+                log.error("재고 리스 반환 실패 - BookId: {}, 노드: {}", lease.bookId, nodeId, e);
+            }
+        }
+    }
+
+    /**
+     * 리스 반환 - 맵에서 제거 후 남은 수량을 0으로 바꾸어 이후 판매를 막은 뒤 반환
+     */
+    private void settle(Lease lease) {
+        leases.remove(lease.bookId, lease);
+        int unused = lease.remaining.getAndSet(0);
+
+        stringRedisTemplate.execute(
+                RETURN_SCRIPT,
+                List.of(BOOK_CACHE + lease.bookId, BookCacheService.STOCK_DELTA_STREAM, LEASES_KEY),
+                String.valueOf(unused),
+                String.valueOf(lease.bookId),
+                leaseField(lease.bookId),
+                String.valueOf(lease.units)
+        );
+
+        bookNearCache.invalidate(lease.bookId);
+        returnedUnitsCounter.increment(unused);
+        log.info("재고 리스 반환 - BookId: {}, 임대: {}, 판매: {}, 반환: {}",
+                lease.bookId, lease.units, lease.units - unused, unused);
+    }
+
+    private String leaseField(Integer bookId) {
+        return bookId + ":" + nodeId;
+    }
+
+    private static final class Lease {
+
+        private final Integer bookId;
+        private final int units;
+        private final AtomicInteger remaining;
+        private final long expiresAtNanos;
+
+        private Lease(Integer bookId, int units, long expiresAtNanos) {
+            this.bookId = bookId;
+            this.units = units;
+            this.remaining = new AtomicInteger(units);
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+
+        private boolean trySell(int quantity) {
+            if (isExpired()) {
+                return false;
+            }
+
+            int current;
+            do {
+                current = remaining.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - quantity));
+            return true;
+        }
+    }
+}
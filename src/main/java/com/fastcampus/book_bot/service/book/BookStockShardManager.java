@@ -0,0 +1,306 @@
+package com.fastcampus.book_bot.service.book;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 초인기 도서 재고 샤딩 (book.stock.shard.enabled=true)
+ * - stock:shard:books Set에 등록된 도서는 재고 일부를 book:{id}:stock:0..N-1 카운터로 분산
+ * - 주문은 호출 스레드 해시로 정한 샤드에서 단일 키 DECRBY로 차감하고, 부족하면 다른 샤드 순서대로 시도
+ *   (샤드 키마다 슬롯이 달라 Redis Cluster에서 한 도서의 쓰기 부하가 여러 노드로 분산)
+ * - 도서 Hash -> 샤드 이동 시 차감 내역을 기록하고, 샤드 -> 도서 Hash 반환 시 음수 차감 내역을 기록
+ *   (샤드 판매는 추가 기록 없음, 캐시 재적재 시 샤드 수량이 중복 계산되지 않음)
+ * - 샤드 간 이동은 원본에서 먼저 꺼낸 뒤 대상에 더하므로 중간 장애 시에도 초과 판매 없음
+ * - 샤드에 재고를 넣은 도서는 stock:shard:active Set에 기록하여 재시작 후에도 해제된 도서의 샤드 재고를 반환
+ */
+@Component
+@Slf4j
+public class BookStockShardManager {
+
+    /** 샤딩 대상 도서 ID Set (운영자가 등록/삭제) */
+    public static final String SHARD_BOOKS_KEY = "stock:shard:books";
+
+    /** 샤드에 재고가 있을 수 있는 도서 ID Set (재고 이동 전에 등록, 반환 완료 후 제거) */
+    private static final String SHARD_ACTIVE_KEY = "stock:shard:active";
+
+    private static final String BOOK_CACHE = "book:";
+
+    private static final DefaultRedisScript<Long> DEACTIVATE_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 샤딩 대상 Set, 샤드 활성 Set / ARGV: 도서 ID
+            // 반환 사이 다시 샤딩 대상으로 등록된 도서는 활성 목록에 유지
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then " +
+                    "    return 0 " +
+                    "end " +
+                    "return redis.call('SREM', KEYS[2], ARGV[1])",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> SHARD_DECREMENT_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 샤드 키 / ARGV: 수량 / 반환: 남은 수량, -2: 부족
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+                    "if current < tonumber(ARGV[1]) then " +
+                    "    return -2 " +
+                    "end " +
+                    "return redis.call('DECRBY', KEYS[1], ARGV[1])",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> TAKE_FROM_SHARD_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 샤드 키 / ARGV: 최대 수량 / 반환: 꺼낸 수량
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+                    "local units = math.min(current, tonumber(ARGV[1])) " +
+                    "if units > 0 then " +
+                    "    redis.call('DECRBY', KEYS[1], units) " +
+                    "end " +
+                    "return units",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> TAKE_FROM_BOOK_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 도서 키, 홀드 수량 Hash, 차감 내역 스트림 / ARGV: 최대 수량, 도서 ID
+            // 가용 재고(홀드 제외) 범위에서 꺼내고 차감 내역 기록 / 반환: 꺼낸 수량
+            "local current = tonumber(redis.call('HGET', KEYS[1], 'quantity') or '0') " +
+                    "local available = current - tonumber(redis.call('HGET', KEYS[2], ARGV[2]) or '0') " +
+                    "local units = math.min(tonumber(ARGV[1]), available) " +
+                    "if units <= 0 then " +
+                    "    return 0 " +
+                    "end " +
+                    "redis.call('HINCRBY', KEYS[1], 'quantity', -units) " +
+                    "redis.call('XADD', KEYS[3], '*', 'bookId', ARGV[2], 'quantity', units) " +
+                    "return units",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> RETURN_TO_BOOK_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 도서 키, 차감 내역 스트림 / ARGV: 수량, 도서 ID
+            // 캐시가 만료된 경우 DB에만 반영 (다음 캐시 적재 시 DB 값 사용)
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+                    "    redis.call('HINCRBY', KEYS[1], 'quantity', ARGV[1]) " +
+                    "end " +
+                    "redis.call('XADD', KEYS[2], '*', 'bookId', ARGV[2], 'quantity', -tonumber(ARGV[1])) " +
+                    "return 1",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final int shardCount;
+    private final int unitsPerShard;
+
+    private volatile Set<Integer> shardBooks = Set.of();
+
+    private final Counter shardSalesCounter;
+    private final Counter shardMissCounter;
+    private final Counter movedUnitsCounter;
+
+    public BookStockShardManager(StringRedisTemplate stringRedisTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${book.stock.shard.enabled:false}") boolean enabled,
+                                 @Value("${book.stock.shard.count:8}") int shardCount,
+                                 @Value("${book.stock.shard.units-per-shard:50}") int unitsPerShard) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.shardCount = shardCount;
+        this.unitsPerShard = unitsPerShard;
+
+        this.shardSalesCounter = meterRegistry.counter("book.stock.shard.decrements", "result", "hit");
+        this.shardMissCounter = meterRegistry.counter("book.stock.shard.decrements", "result", "miss");
+        this.movedUnitsCounter = meterRegistry.counter("book.stock.shard.moved_units");
+    }
+
+    /**
+     * 샤딩 대상 도서 여부 (로컬에 캐시된 대상 목록 기준)
+     */
+    public boolean isSharded(Integer bookId) {
+        return enabled && shardBooks.contains(bookId);
+    }
+
+    /**
+     * 샤드에서 재고 차감
+     * - 호출 스레드 해시로 시작 샤드를 정하고, 부족하면 다음 샤드 순서대로 시도
+     * @return 차감 성공 여부 (false이면 도서 Hash의 남은 재고로 차감)
+     */
+    public boolean tryDecrement(Integer bookId, int quantity) {
+        int start = Math.floorMod(Long.hashCode(Thread.currentThread().getId()), shardCount);
+
+        for (int i = 0; i < shardCount; i++) {
+            Long remaining = stringRedisTemplate.execute(
+                    SHARD_DECREMENT_SCRIPT,
+                    List.of(shardKey(bookId, (start + i) % shardCount)),
+                    String.valueOf(quantity)
+            );
+
+            if (remaining != null && remaining >= 0) {
+                shardSalesCounter.increment();
+                return true;
+            }
+        }
+
+        shardMissCounter.increment();
+        return false;
+    }
+
+    /**
+     * 샤드 재고 합계
+     */
+    public int quantity(Integer bookId) {
+        return shardValues(bookId).stream().mapToInt(Long::intValue).sum();
+    }
+
+    /**
+     * 샤딩 대상 목록 갱신 및 샤드 재분배
+     * - 활성 목록에 있지만 대상에서 빠진 도서는 샤드 재고를 도서 Hash로 반환
+     * - 대상 도서는 재고 이동 전에 활성 목록에 등록
+     * - 절반 이하로 줄어든 샤드는 도서 Hash에서 채우고, Hash가 비었으면 샤드 간 균등 분배
+     */
+    @Scheduled(fixedDelayString = "${book.stock.shard.rebalance-interval-ms:1000}")
+    public void rebalance() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Set<String> members = stringRedisTemplate.opsForSet().members(SHARD_BOOKS_KEY);
+            Set<Integer> current = members == null ? Set.of() : members.stream()
+                    .map(Integer::valueOf)
+                    .collect(Collectors.toUnmodifiableSet());
+
+            // 반환 대상은 로컬 목록이 아닌 Redis 활성 목록 기준 (재시작 중 해제된 도서 포함)
+            Set<String> active = stringRedisTemplate.opsForSet().members(SHARD_ACTIVE_KEY);
+            if (active != null) {
+                active.stream()
+                        .map(Integer::valueOf)
+                        .filter(bookId -> !current.contains(bookId))
+                        .forEach(this::drain);
+            }
+            shardBooks = current;
+
+            if (!current.isEmpty()) {
+                stringRedisTemplate.opsForSet().add(SHARD_ACTIVE_KEY,
+                        current.stream().map(String::valueOf).toArray(String[]::new));
+            }
+            current.forEach(this::refill);
+        } catch (Exception e) {
+            log.warn("재고 샤드 재분배 실패 - 다음 주기에 재시도", e);
+        }
+    }
+
+    private void refill(Integer bookId) {
+        List<Long> values = shardValues(bookId);
+        boolean bookExhausted = false;
+
+        for (int shard = 0; shard < shardCount; shard++) {
+            long value = values.get(shard);
+            if (value * 2 > unitsPerShard) {
+                continue;
+            }
+
+            long took = takeFromBook(bookId, unitsPerShard - value);
+            if (took == 0) {
+                bookExhausted = true;
+                break;
+            }
+            stringRedisTemplate.opsForValue().increment(shardKey(bookId, shard), took);
+            values.set(shard, value + took);
+        }
+
+        if (bookExhausted) {
+            equalize(bookId, values);
+        }
+    }
+
+    /**
+     * 도서 Hash 재고가 소진되었을 때 샤드 간 균등 분배 (남은 재고가 특정 샤드에 몰려 품절로 보이는 현상 방지)
+     */
+    private void equalize(Integer bookId, List<Long> values) {
+        long total = values.stream().mapToLong(Long::longValue).sum();
+        long average = total / shardCount;
+
+        long pool = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (values.get(shard) > average + 1) {
+                pool += takeFromShard(bookId, shard, values.get(shard) - average);
+            }
+        }
+
+        // 꺼내는 사이 판매된 수량만큼 pool이 줄 수 있으므로 평균 미만 샤드부터 채우고 나머지는 마지막 샤드에 반환
+        for (int shard = 0; shard < shardCount && pool > 0; shard++) {
+            long give = shard == shardCount - 1 ? pool : Math.min(pool, Math.max(average - values.get(shard), 0));
+            if (give > 0) {
+                stringRedisTemplate.opsForValue().increment(shardKey(bookId, shard), give);
+                pool -= give;
+            }
+        }
+    }
+
+    /**
+     * 샤드 재고 전체를 도서 Hash로 반환
+     */
+    private void drain(Integer bookId) {
+        long total = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            total += takeFromShard(bookId, shard, Long.MAX_VALUE);
+        }
+
+        if (total > 0) {
+            stringRedisTemplate.execute(
+                    RETURN_TO_BOOK_SCRIPT,
+                    List.of(BOOK_CACHE + bookId, BookCacheService.STOCK_DELTA_STREAM),
+                    String.valueOf(total),
+                    String.valueOf(bookId)
+            );
+            movedUnitsCounter.increment(total);
+        }
+
+        stringRedisTemplate.execute(DEACTIVATE_SCRIPT, List.of(SHARD_BOOKS_KEY, SHARD_ACTIVE_KEY), String.valueOf(bookId));
+        log.info("재고 샤딩 해제 - BookId: {}, 반환 수량: {}", bookId, total);
+    }
+
+    private long takeFromBook(Integer bookId, long max) {
+        Long took = stringRedisTemplate.execute(
+                TAKE_FROM_BOOK_SCRIPT,
+                List.of(BOOK_CACHE + bookId, BookCacheService.STOCK_RESERVED_KEY, BookCacheService.STOCK_DELTA_STREAM),
+                String.valueOf(max),
+                String.valueOf(bookId)
+        );
+
+        long units = took != null ? took : 0;
+        movedUnitsCounter.increment(units);
+        return units;
+    }
+
+    private long takeFromShard(Integer bookId, int shard, long max) {
+        Long took = stringRedisTemplate.execute(
+                TAKE_FROM_SHARD_SCRIPT,
+                List.of(shardKey(bookId, shard)),
+                String.valueOf(max)
+        );
+        return took != null ? took : 0;
+    }
+
+    private List<Long> shardValues(Integer bookId) {
+        List<String> keys = IntStream.range(0, shardCount)
+                .mapToObj(shard -> shardKey(bookId, shard))
+                .toList();
+
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+
+        List<Long> result = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            String value = values != null ? values.get(shard) : null;
+            result.add(value != null ? Long.parseLong(value) : 0L);
+        }
+        return result;
+    }
+
+    private String shardKey(Integer bookId, int shard) {
+        return BOOK_CACHE + bookId + ":stock:" + shard;
+    }
+}
@@ -0,0 +1,146 @@
+package com.fastcampus.book_bot.service.book;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 캐시 적재용 재고 스냅샷 (DB 재고 - 미반영 차감 내역)
+ * - Redis가 재고 원본이므로 DB 값에는 stock:delta 스트림에서 아직 반영되지 않은 차감분이 빠져 있지 않음
+ * - 스트림을 먼저 읽은 뒤(워터마크 기록) 새 트랜잭션 하나에서 DB 재고와 반영 로그(stock_delta_log)를 함께 조회
+ *   -> 조회 사이 StockDeltaFlusher가 반영한 내역도 같은 스냅샷 기준으로 구분되어 이중 차감/누락 없음
+ * - 워터마크 이후 같은 도서의 내역이 추가되었는지는 캐시 저장 Script가 확인 (BookCacheService)
+ */
+@Component
+@Slf4j
+public class BookStockSnapshotReader {
+
+    private static final String SELECT_QUANTITY_SQL = "SELECT BOOK_ID, BOOK_QUANTITY FROM books WHERE BOOK_ID IN (%s)";
+    private static final String SELECT_APPLIED_SQL = "SELECT DELTA_ID FROM stock_delta_log WHERE DELTA_ID IN (%s)";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> PENDING_SCRIPT = new DefaultRedisScript<>(
+            // KEYS[1]: 차감 내역 스트림 / ARGV[1]: 최대 내역 수, 이후 도서 ID들
+            // 반환: {워터마크, 내역 ID, 도서 ID, 수량, ...} - 내역이 너무 많으면 빈 목록
+            // 형식이 잘못된 내역은 StockDeltaFlusher가 반영하지 않고 Dead Letter로 옮기므로 제외
+            "if redis.call('XLEN', KEYS[1]) > tonumber(ARGV[1]) then " +
+                    "    return {} " +
+                    "end " +
+                    "local wanted = {} " +
+                    "for i = 2, #ARGV do " +
+                    "    wanted[ARGV[i]] = true " +
+                    "end " +
+                    "local result = {'0-0'} " +
+                    "for _, entry in ipairs(redis.call('XRANGE', KEYS[1], '-', '+')) do " +
+                    "    result[1] = entry[1] " +
+                    "    local bookId, quantity " +
+                    "    local fields = entry[2] " +
+                    "    for j = 1, #fields, 2 do " +
+                    "        if fields[j] == 'bookId' then " +
+                    "            bookId = fields[j + 1] " +
+                    "        elseif fields[j] == 'quantity' then " +
+                    "            quantity = fields[j + 1] " +
+                    "        end " +
+                    "    end " +
+                    "    if bookId ~= nil and tonumber(quantity) ~= nil and wanted[bookId] then " +
+                    "        table.insert(result, entry[1]) " +
+                    "        table.insert(result, bookId) " +
+                    "        table.insert(result, quantity) " +
+                    "    end " +
+                    "end " +
+                    "return result",
+            List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final int maxPendingDeltas;
+
+    public BookStockSnapshotReader(StringRedisTemplate stringRedisTemplate,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${book.cache.stock-snapshot.max-pending-deltas:10000}") int maxPendingDeltas) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPendingDeltas = maxPendingDeltas;
+
+        // 호출 측 트랜잭션의 오래된 스냅샷을 쓰지 않도록 항상 새 트랜잭션에서 조회
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 캐시에 저장할 도서별 재고
+     * @return 스냅샷 (미반영 내역이 너무 많으면 null - 캐시 저장 생략)
+     */
+    public Snapshot read(Collection<Integer> bookIds) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(maxPendingDeltas));
+        bookIds.forEach(bookId -> args.add(String.valueOf(bookId)));
+
+        List<?> pending = stringRedisTemplate.execute(PENDING_SCRIPT,
+                Collections.singletonList(BookCacheService.STOCK_DELTA_STREAM), args.toArray());
+
+        if (pending == null || pending.isEmpty()) {
+            log.warn("미반영 재고 차감 내역이 {}건 초과 - 재고 캐시 적재 생략", maxPendingDeltas);
+            return null;
+        }
+
+        String watermark = (String) pending.get(0);
+        List<String> deltaIds = new ArrayList<>();
+        for (int i = 1; i < pending.size(); i += 3) {
+            deltaIds.add((String) pending.get(i));
+        }
+
+        Map<Integer, Integer> quantities = new HashMap<>();
+        Set<String> applied = new HashSet<>();
+        snapshotTransaction.executeWithoutResult(status -> {
+            String placeholders = String.join(",", Collections.nCopies(bookIds.size(), "?"));
+            jdbcTemplate.query(String.format(SELECT_QUANTITY_SQL, placeholders),
+                    rs -> {
+                        quantities.put(rs.getInt("BOOK_ID"), rs.getInt("BOOK_QUANTITY"));
+                    }, bookIds.toArray());
+
+            if (!deltaIds.isEmpty()) {
+                String deltaPlaceholders = String.join(",", Collections.nCopies(deltaIds.size(), "?"));
+                applied.addAll(jdbcTemplate.queryForList(
+                        String.format(SELECT_APPLIED_SQL, deltaPlaceholders), String.class, deltaIds.toArray()));
+            }
+        });
+
+        for (int i = 1; i < pending.size(); i += 3) {
+            if (applied.contains((String) pending.get(i))) {
+                continue;
+            }
+            Integer bookId = Integer.valueOf((String) pending.get(i + 1));
+            int quantity = Integer.parseInt((String) pending.get(i + 2));
+            quantities.computeIfPresent(bookId, (id, current) -> current - quantity);
+        }
+
+        return new Snapshot(watermark, quantities);
+    }
+
+    /**
+     * @param watermark  스냅샷 기준 스트림 마지막 내역 ID
+     * @param quantities 도서 ID별 캐시 재고 (DB에 없는 도서는 제외)
+     */
+    public record Snapshot(String watermark, Map<Integer, Integer> quantities) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.fastcampus.book_bot.service.grade;
+
+import com.fastcampus.book_bot.dto.grade.GradeInfo;
+
+import java.math.BigDecimal;
+
+/**
+ * 고정소수점 등급 할인 전략
+ * - 할인율/적립률을 백만분율(소수점 6자리, user_grade DECIMAL(8,6)과 같은 자릿수) 정수로 미리 변환
+ * - 금액 계산은 long 곱셈/나눗셈만 사용 (호출마다 BigDecimal 생성 없음)
+ * - 반올림 규칙: 소수점 이하 버림(RoundingMode.DOWN, 0 방향) - 기존 BigDecimal.intValue() 결과와 동일
+ * - 소수점 6자리로 표현할 수 없는 비율은 supports()가 false를 반환하며 RedisGradeStrategy(BigDecimal)로 계산
+ */
+public class FixedPointGradeStrategy implements GradeStrategy {
+
+    private static final int SHIPPING_COST = 3000;
+    private static final int SCALE = 6;
+    private static final long ONE = 1_000_000L;
+
+    private final String gradeName;
+    private final int minUsage;
+    private final long payableRate;
+    private final long mileageRate;
+
+    public FixedPointGradeStrategy(GradeInfo gradeInfo) {
+        if (!supports(gradeInfo)) {
+            throw new IllegalArgumentException("고정소수점으로 표현할 수 없는 등급 비율입니다: " + gradeInfo.getGradeName());
+        }
+
+        this.gradeName = gradeInfo.getGradeName();
+        this.minUsage = gradeInfo.getMinUsage();
+        this.payableRate = ONE - toFixed(gradeInfo.getDiscount());
+        this.mileageRate = toFixed(gradeInfo.getMileageRate());
+    }
+
+    /**
+     * 할인율/적립률이 소수점 6자리 이내인지 여부
+     */
+    public static boolean supports(GradeInfo gradeInfo) {
+        return fits(gradeInfo.getDiscount()) && fits(gradeInfo.getMileageRate());
+    }
+
+    @Override
+    public int calculateDiscountedPrice(int originalAmount) {
+        return (int) (originalAmount * payableRate / ONE);
+    }
+
+    @Override
+    public int calculateShippingCost(int orderAmount) {
+        return orderAmount >= minUsage ? 0 : SHIPPING_COST;
+    }
+
+    @Override
+    public int calculateMileage(int orderAmount) {
+        return (int) (orderAmount * mileageRate / ONE);
+    }
+
+    @Override
+    public String getGradeName() {
+        return gradeName;
+    }
+
+    private static boolean fits(BigDecimal rate) {
+        return rate != null
+                && rate.stripTrailingZeros().scale() <= SCALE
+                && rate.abs().compareTo(BigDecimal.TEN) < 0;
+    }
+
+    private static long toFixed(BigDecimal rate) {
+        return rate.movePointRight(SCALE).longValueExact();
+    }
+}
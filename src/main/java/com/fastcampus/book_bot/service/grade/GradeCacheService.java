@@ -6,12 +6,16 @@ import com.fastcampus.book_bot.repository.UserGradeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
 
 @Service
@@ -21,9 +25,16 @@ public class GradeCacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final UserGradeRepository userGradeRepository;
+    private final StringRedisTemplate stringRedisTemplate;
 
     private static final String GRADE_CACHE_KEY = "grade:";
 
+    /** 등급 변경 알림 채널 (GradeStrategyFactory가 구독) */
+    public static final String GRADE_CHANGED_CHANNEL = "grades:changed";
+
+    /** 등급 버전 (변경 시 증가, 알림 유실 대비 비교용) */
+    public static final String GRADE_VERSION_KEY = "grades:version";
+
     @Transactional(readOnly = true)
     public GradeInfo getGradeInfo(String gradeName) {
         String cacheKey = GRADE_CACHE_KEY + gradeName;
@@ -57,12 +68,23 @@ public class GradeCacheService {
                 .orElse(getDefaultGradeInfo());
     }
 
+    /**
+     * 전체 등급 조회 (DB)
+     */
+    @Transactional(readOnly = true)
+    public List<GradeInfo> getAllGradeInfos() {
+        return userGradeRepository.findAll().stream()
+                .map(this::convertToGradeInfo)
+                .toList();
+    }
+
     public void evictGradeCache(String gradeName) {
         try {
             redisTemplate.delete(GRADE_CACHE_KEY + gradeName);
         } catch (Exception e) {
             log.warn("Redis 캐시 삭제 실패: {}", gradeName, e);
         }
+        notifyGradeChanged(gradeName);
     }
 
     public void evictAllGradeCache() {
@@ -74,6 +96,33 @@ public class GradeCacheService {
         } catch (Exception e) {
             log.warn("Redis 전체 캐시 삭제 실패", e);
         }
+        notifyGradeChanged("*");
+    }
+
+    /**
+     * 등급 버전 증가 후 전체 노드에 변경 알림 (각 노드의 등급 전략 다시 적재)
+     * - 트랜잭션 안에서 호출되면 커밋 이후 발행 (커밋 전 값으로 다시 적재하지 않도록)
+     */
+    private void notifyGradeChanged(String gradeName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishGradeChanged(gradeName);
+                }
+            });
+            return;
+        }
+        publishGradeChanged(gradeName);
+    }
+
+    private void publishGradeChanged(String gradeName) {
+        try {
+            stringRedisTemplate.opsForValue().increment(GRADE_VERSION_KEY);
+            stringRedisTemplate.convertAndSend(GRADE_CHANGED_CHANNEL, gradeName);
+        } catch (Exception e) {
+            log.warn("등급 변경 알림 발행 실패: {}", gradeName, e);
+        }
     }
 
     private GradeInfo mapToGradeInfo(LinkedHashMap<String, Object> map) {
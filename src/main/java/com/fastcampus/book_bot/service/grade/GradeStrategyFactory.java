@@ -1,17 +1,113 @@
 package com.fastcampus.book_bot.service.grade;
 
 import com.fastcampus.book_bot.dto.grade.GradeInfo;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 등급별 할인 전략
+ * - 전체 등급 전략을 미리 만들어 불변 Map으로 보관 (주문 금액 계산 시 Redis/DB 조회 없음)
+ * - 등급 변경 시 GradeCacheService가 버전 증가 후 grades:changed 채널로 알리면 모든 노드가 다시 적재해 Map 교체
+ * - Pub/Sub 메시지 유실에 대비해 버전 값을 주기적으로 비교 (적재된 전략이 없으면 다시 적재)
+ * - 비율이 소수점 6자리 이내인 등급은 고정소수점 전략, 그 외는 BigDecimal 전략 사용
+ */
 @Component
 @RequiredArgsConstructor
-public class GradeStrategyFactory {
+@Slf4j
+public class GradeStrategyFactory implements MessageListener {
 
     private final GradeCacheService gradeCacheService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile GradeTable gradeTable = new GradeTable(null, Map.of());
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(GradeCacheService.GRADE_CHANGED_CHANNEL));
+        reload();
+    }
 
     public GradeStrategy getStrategy(String gradeName) {
-        GradeInfo gradeInfo = gradeCacheService.getGradeInfo(gradeName);
-        return new RedisGradeStrategy(gradeInfo);
+        GradeStrategy strategy = gradeTable.strategies().get(gradeName);
+        if (strategy != null) {
+            return strategy;
+        }
+
+        // 적재 전이거나 등록되지 않은 등급 -> 기존 조회 경로
+        return strategyOf(gradeCacheService.getGradeInfo(gradeName));
+    }
+
+    /**
+     * 다른 노드(또는 자신)가 발행한 등급 변경 메시지 처리
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        reload();
+    }
+
+    /**
+     * 등급 버전 비교 (변경 메시지 유실 대비)
+     * - 적재된 전략이 없으면(시작 시 DB/Redis 장애 등) 버전과 무관하게 다시 적재
+     */
+    @Scheduled(fixedDelayString = "${grade.strategy.version-poll-ms:30000}")
+    public void pollVersion() {
+        try {
+            GradeTable current = gradeTable;
+            if (current.strategies().isEmpty()) {
+                // 시작 시 적재 실패 후 등급 변경이 없으면 버전 키가 없으므로 버전과 무관하게 다시 적재
+                log.info("등급 전략 미적재 - 다시 적재");
+                reload();
+                return;
+            }
+
+            String version = stringRedisTemplate.opsForValue().get(GradeCacheService.GRADE_VERSION_KEY);
+            if (!Objects.equals(version, current.version())) {
+                log.info("등급 버전 변경 감지 - {} -> {}", current.version(), version);
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("등급 버전 조회 실패", e);
+        }
+    }
+
+    /**
+     * 전체 등급 다시 적재 후 교체 (버전을 먼저 읽어 적재 중 변경이 생기면 다음 비교에서 다시 적재)
+     */
+    public synchronized void reload() {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(GradeCacheService.GRADE_VERSION_KEY);
+
+            Map<String, GradeStrategy> strategies = gradeCacheService.getAllGradeInfos().stream()
+                    .collect(Collectors.toUnmodifiableMap(
+                            GradeInfo::getGradeName,
+                            GradeStrategyFactory::strategyOf));
+
+            gradeTable = new GradeTable(version, strategies);
+            log.info("등급 전략 적재 완료 - 등급 수: {}, 버전: {}", strategies.size(), version);
+        } catch (Exception e) {
+            log.error("등급 전략 적재 실패 - 기존 전략 유지", e);
+        }
+    }
+
+    private static GradeStrategy strategyOf(GradeInfo gradeInfo) {
+        return FixedPointGradeStrategy.supports(gradeInfo)
+                ? new FixedPointGradeStrategy(gradeInfo)
+                : new RedisGradeStrategy(gradeInfo);
+    }
+
+    private record GradeTable(String version, Map<String, GradeStrategy> strategies) {
     }
 }
@@ -4,6 +4,11 @@ import com.fastcampus.book_bot.dto.grade.GradeInfo;
 
 import java.math.BigDecimal;
 
+/**
+ * BigDecimal 등급 할인 전략
+ * - 반올림 규칙: 소수점 이하 버림(intValue(), 0 방향)
+ * - 비율이 소수점 6자리를 넘는 등급에만 사용 (그 외는 FixedPointGradeStrategy)
+ */
 public class RedisGradeStrategy implements GradeStrategy {
 
     private static final int SHIPPING_COST = 3000;
@@ -0,0 +1,223 @@
+package com.fastcampus.book_bot.service.grade;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 주문 이력 기반 사용자 등급 재계산 (grade.recalc.enabled=true)
+ * - user를 USER_ID 키셋 페이지로 읽고, 페이지 범위의 주문 금액/건수를 GROUP BY 한 번으로 집계
+ *   (orders(USER_ID, ORDER_DATE, TOTAL_PRICE) 커버링 인덱스 사용, 전체 사용자를 메모리에 올리지 않음)
+ * - 금액/건수 기준을 모두 만족하는 가장 높은 등급으로 판정 (만족하는 등급이 없으면 최하위 등급)
+ * - 변경 대상만 페이지 단위 짧은 트랜잭션에서 batchUpdate (조회 시점 등급 조건으로 동시 변경 덮어쓰기 방지)
+ * - 페이지 사이 대기로 운영 트래픽 영향 제한, 여러 노드 중 한 노드만 실행 (Redis 락)
+ * - 사용자 캐시는 없으며 등급이 포함된 주문 견적(OrderQuoteService)은 지문 불일치로 자동 재계산됨
+ */
+@Component
+@Slf4j
+public class UserGradeRecalculator {
+
+    private static final String LOCK_KEY = "lock:grade:recalc";
+
+    private static final String SELECT_GRADES_SQL =
+            "SELECT GRADE_ID, COALESCE(MIN_USAGE, 0) AS MIN_USAGE, COALESCE(ORDER_COUNT, 0) AS ORDER_COUNT " +
+                    "FROM user_grade ORDER BY MIN_USAGE DESC, ORDER_COUNT DESC";
+    private static final String SELECT_USERS_SQL =
+            "SELECT USER_ID, GRADE_ID FROM user WHERE USER_ID > ? ORDER BY USER_ID LIMIT ?";
+    private static final String SELECT_USAGE_SQL =
+            "SELECT USER_ID, COALESCE(SUM(TOTAL_PRICE), 0) AS TOTAL_USAGE, COUNT(*) AS ORDER_COUNT " +
+                    "FROM orders WHERE USER_ID BETWEEN ? AND ? AND ORDER_DATE >= ? GROUP BY USER_ID";
+    private static final String UPDATE_GRADE_SQL =
+            "UPDATE user SET GRADE_ID = ? WHERE USER_ID = ? AND GRADE_ID = ?";
+
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "    return redis.call('DEL', KEYS[1]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final int pageSize;
+    private final long pauseMillis;
+    private final int windowMonths;
+    private final Duration lockTtl;
+
+    private final Counter scannedCounter;
+    private final Counter changedCounter;
+
+    public UserGradeRecalculator(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 StringRedisTemplate stringRedisTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${grade.recalc.enabled:false}") boolean enabled,
+                                 @Value("${grade.recalc.page-size:1000}") int pageSize,
+                                 @Value("${grade.recalc.pause-ms:20}") long pauseMillis,
+                                 @Value("${grade.recalc.window-months:0}") int windowMonths,
+                                 @Value("${grade.recalc.lock-ttl-minutes:120}") long lockTtlMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.pauseMillis = pauseMillis;
+        this.windowMonths = windowMonths;
+        this.lockTtl = Duration.ofMinutes(lockTtlMinutes);
+
+        this.scannedCounter = meterRegistry.counter("grade.recalc.users", "result", "scanned");
+        this.changedCounter = meterRegistry.counter("grade.recalc.users", "result", "changed");
+    }
+
+    /**
+     * 전체 사용자 등급 재계산
+     */
+    @Scheduled(cron = "${grade.recalc.cron:0 30 3 * * *}")
+    public void recalculate() {
+        if (!enabled) {
+            return;
+        }
+
+        String lockToken = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockToken, lockTtl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("다른 노드에서 등급 재계산 진행 중");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        int scanned = 0;
+        int changed = 0;
+
+        try {
+            List<GradeRule> rules = jdbcTemplate.query(SELECT_GRADES_SQL, (rs, rowNum) -> new GradeRule(
+                    rs.getInt("GRADE_ID"), rs.getLong("MIN_USAGE"), rs.getLong("ORDER_COUNT")));
+            if (rules.isEmpty()) {
+                log.warn("등급 정보 없음 - 등급 재계산 생략");
+                return;
+            }
+
+            // 기간 제한이 없으면 전체 주문 (ORDER_DATE 조건은 인덱스 범위 조건으로만 사용)
+            Timestamp since = Timestamp.valueOf(windowMonths > 0
+                    ? LocalDateTime.now().minusMonths(windowMonths)
+                    : LocalDateTime.of(1970, 1, 1, 0, 0));
+
+            int lastUserId = 0;
+            while (true) {
+                List<int[]> users = jdbcTemplate.query(SELECT_USERS_SQL,
+                        (rs, rowNum) -> new int[]{rs.getInt("USER_ID"), rs.getInt("GRADE_ID")},
+                        lastUserId, pageSize);
+                if (users.isEmpty()) {
+                    break;
+                }
+
+                changed += recalculatePage(users, rules, since);
+                scanned += users.size();
+                scannedCounter.increment(users.size());
+
+                lastUserId = users.get(users.size() - 1)[0];
+                if (users.size() < pageSize) {
+                    break;
+                }
+                pause();
+            }
+
+            log.info("사용자 등급 재계산 완료 - 대상: {}명, 변경: {}명, 소요시간: {}ms",
+                    scanned, changed, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("사용자 등급 재계산 실패 - 처리: {}명, 변경: {}명", scanned, changed, e);
+        } finally {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_KEY), lockToken);
+        }
+    }
+
+    /**
+     * 페이지 단위 재계산
+     * @return 등급이 변경된 사용자 수
+     */
+    private int recalculatePage(List<int[]> users, List<GradeRule> rules, Timestamp since) {
+        Map<Integer, long[]> usages = new HashMap<>();
+        jdbcTemplate.query(SELECT_USAGE_SQL,
+                rs -> {
+                    usages.put(rs.getInt("USER_ID"), new long[]{rs.getLong("TOTAL_USAGE"), rs.getLong("ORDER_COUNT")});
+                }, users.get(0)[0], users.get(users.size() - 1)[0], since);
+
+        List<Object[]> updates = new ArrayList<>();
+        for (int[] user : users) {
+            long[] usage = usages.getOrDefault(user[0], new long[]{0, 0});
+            int gradeId = evaluate(rules, usage[0], usage[1]);
+
+            if (gradeId != user[1]) {
+                updates.add(new Object[]{gradeId, user[0], user[1]});
+            }
+        }
+
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        int[][] results = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_GRADE_SQL, updates,
+                updates.size(), (ps, row) -> {
+                    ps.setInt(1, (Integer) row[0]);
+                    ps.setInt(2, (Integer) row[1]);
+                    ps.setInt(3, (Integer) row[2]);
+                }));
+
+        int changed = 0;
+        if (results != null) {
+            for (int[] batch : results) {
+                for (int count : batch) {
+                    // 드라이버가 건수 대신 SUCCESS_NO_INFO(-2)를 반환하는 경우도 변경으로 집계
+                    if (count != 0) {
+                        changed++;
+                    }
+                }
+            }
+        }
+
+        changedCounter.increment(changed);
+        return changed;
+    }
+
+    /**
+     * 금액/건수 기준을 모두 만족하는 가장 높은 등급 (없으면 최하위 등급)
+     */
+    private int evaluate(List<GradeRule> rules, long totalUsage, long orderCount) {
+        for (GradeRule rule : rules) {
+            if (totalUsage >= rule.minUsage() && orderCount >= rule.orderCount()) {
+                return rule.gradeId();
+            }
+        }
+        return rules.get(rules.size() - 1).gradeId();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record GradeRule(int gradeId, long minUsage, long orderCount) {
+    }
+}
@@ -3,10 +3,14 @@ package com.fastcampus.book_bot.service.navigation;
 import com.fastcampus.book_bot.domain.book.Book;
 import com.fastcampus.book_bot.dto.api.BookDTO;
 import com.fastcampus.book_bot.service.book.BookCacheService;
+import com.fastcampus.book_bot.service.book.BookHotSetManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -20,39 +24,57 @@ public class RecentlyViewService {
 
     private final StringRedisTemplate redisTemplate;
     private final BookCacheService bookCacheService;
+    private final BookHotSetManager bookHotSetManager;
+    private final ThreadPoolTaskExecutor taskExecutor;
 
     private static final String RECENTLY_KEY = "recent:view:";
-    private static final String BOOK_CACHE_KEY = "book:";
     private static final int MAX_RECENT_ITEMS = 5;
+    private static final Duration RECENTLY_TTL = Duration.ofDays(30);
+
+    private static final DefaultRedisScript<Long> ADD_RECENT_SCRIPT = new DefaultRedisScript<>(
+            // 1. 추가 (이미 존재 시 timestamp만 갱신)
+            "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) " +
+                    // 2. 최신 MAX_RECENT_ITEMS개만 유지
+                    "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1)) " +
+                    // 3. 만료 시간 갱신
+                    "redis.call('EXPIRE', KEYS[1], ARGV[4]) " +
+                    "return 1",
+            Long.class);
 
     /**
      * 최근 본 상품 추가
-     * - 이미 존재 시, timestamp만 업데이트
-     * - MAX_RECENT_ITEMS 초과 시 오래된 항목 삭제
+     * - 추가/정리/만료 갱신을 Lua Script 한 번으로 원자적으로 처리
+     * - 도서 캐시 확인 및 적재는 요청 경로 밖(비동기)에서 처리
      */
     public void addRecentBook(Integer userId, Integer bookId) {
-        String key = RECENTLY_KEY + userId;
-        double score = System.currentTimeMillis();
-
-        redisTemplate.opsForZSet().add(key, bookId.toString(), score);
-
-        String bookCacheKey = BOOK_CACHE_KEY + bookId;
-        Map<Object, Object> existingData = redisTemplate.opsForHash().entries(bookCacheKey);
-
-        if (existingData == null || existingData.isEmpty()) {
-            log.info("북 캐시 없음 - 새로 저장: {}", bookCacheKey);
-            Book book = bookCacheService.getBook(bookId);
-            bookCacheService.setBookRedis(bookId, book);
-        } else {
-            log.debug("북 캐시 존재 - bookId: {}", bookId);
-        }
+        redisTemplate.execute(
+                ADD_RECENT_SCRIPT,
+                Collections.singletonList(RECENTLY_KEY + userId),
+                String.valueOf(System.currentTimeMillis()),
+                bookId.toString(),
+                String.valueOf(MAX_RECENT_ITEMS),
+                String.valueOf(RECENTLY_TTL.getSeconds())
+        );
+
+        bookHotSetManager.recordAccess(bookId);
+        warmBookCacheAsync(bookId);
+    }
 
-        Long size = redisTemplate.opsForZSet().size(key);
-        if (size != null && size > MAX_RECENT_ITEMS) {
-            redisTemplate.opsForZSet().removeRange(key, 0, size - MAX_RECENT_ITEMS - 1);
+    private void warmBookCacheAsync(Integer bookId) {
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    if (!bookCacheService.isCached(bookId)) {
+                        log.info("북 캐시 없음 - 캐시 로딩: {}", bookId);
+                        bookCacheService.getBook(bookId);
+                    }
+                } catch (Exception e) {
+                    log.warn("최근 본 상품 도서 캐시 적재 실패 - bookId: {}", bookId, e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.debug("최근 본 상품 도서 캐시 적재 작업 거부 - bookId: {}", bookId);
         }
-
-        redisTemplate.expire(key, Duration.ofDays(30));
     }
 
     /**
@@ -72,38 +94,11 @@ public class RecentlyViewService {
             return Collections.emptyList();
         }
 
-        List<Book> books = new ArrayList<>();
-        for (String bookId : bookIds) {
-            String bookCacheKey = BOOK_CACHE_KEY + bookId;
-            log.debug("북 캐시 조회 - Key: {}", bookCacheKey);
-
-            Map<Object, Object> bookData = redisTemplate.opsForHash().entries(bookCacheKey);
-            log.debug("북 데이터 조회 결과 - bookId: {}, dataSize: {}", bookId, bookData.size());
-
-            if (!bookData.isEmpty()) {
-                Book book = convertHashToBook(bookData);
-                books.add(book);
-                log.debug("북 추가 완료 - bookId: {}, bookName: {}", book.getBookId(), book.getBookName());
-            } else {
-                log.warn("북 캐시 데이터 없음 - bookCacheKey: {}", bookCacheKey);
-            }
-        }
+        // 캐시 미적재 도서까지 파이프라인 + 단일 IN 쿼리로 한 번에 조회
+        List<Book> books = bookCacheService.getBooks(
+                bookIds.stream().map(Integer::valueOf).toList());
 
         log.info("최근 본 상품 조회 완료 - UserId: {}, 조회된 책 수: {}", userId, books.size());
         return books;
     }
-
-    private Book convertHashToBook(Map<Object, Object> bookData) {
-        Book book = new Book();
-        book.setBookId(Integer.valueOf((String) bookData.get("bookId")));
-        book.setBookName((String) bookData.get("title"));
-        book.setBookImagePath((String) bookData.get("imagePath"));
-        book.setBookAuthor((String) bookData.get("author"));
-        book.setBookPublisher((String) bookData.get("publisher"));
-        book.setBookDiscount(Integer.valueOf((String) bookData.get("price")));
-        book.setBookQuantity(Integer.valueOf((String) bookData.get("quantity")));
-        book.setBookIsbn((String) bookData.get("isbn"));
-
-        return book;
-    }
 }
@@ -32,16 +32,6 @@ public class BookStockManager extends StockSubject {
         this.taskExecutor = taskExecutor;
     }
 
-    @Transactional
-    public void updateStock(Integer newQuantity) {
-        bookRepository.updateBookQuantity(bookId, newQuantity);
-
-        Optional<Book> bookOpt = bookRepository.findById(bookId);
-        bookOpt.ifPresent(book -> log.info("[재고 변동] {}: {}권", book.getBookName(), book.getBookQuantity()));
-
-        notifyObservers();
-    }
-
     @Override
     @Transactional
     public void notifyObservers() {
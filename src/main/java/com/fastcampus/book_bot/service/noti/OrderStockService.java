@@ -4,6 +4,7 @@ import com.fastcampus.book_bot.domain.book.Book;
 import com.fastcampus.book_bot.repository.BookRepository;
 import com.fastcampus.book_bot.repository.NotificationSubRepository;
 import com.fastcampus.book_bot.service.auth.MailService;
+import com.fastcampus.book_bot.service.book.BookCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -20,36 +21,57 @@ public class OrderStockService {
     private final NotificationSubRepository notificationSubRepository;
     private final MailService mailService;
     private final ThreadPoolTaskExecutor taskExecutor;
+    private final BookCacheService bookCacheService;
 
     /**
-     * DB 재고 차감 및 알림 처리 (비동기)
+     * DB 재고 차감 이후 처리 (비동기)
+     * - DB 재고 전략으로 차감한 주문의 커밋 이후 호출
+     *   (Redis에서 차감된 주문은 StockDeltaFlusher가 일괄 반영 후 notifyStockChanged 호출)
+     * - 캐시된 재고를 차감 수량만큼 줄이고 재고 알림 발송
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Async
-    public void updateStockAndNotify(Integer bookId, Integer orderQuantity) {
+    public void syncStockAndNotify(Integer bookId, Integer quantity) {
         try {
             Book book = bookRepository.findById(bookId)
                     .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 도서입니다: " + bookId));
 
-            Integer newQuantity = book.getBookQuantity() - orderQuantity;
-            log.info("재고 업데이트 시작 (비동기) - 도서: {}, 기존재고: {}, 주문수량: {}, 새재고: {}",
-                    book.getBookName(), book.getBookQuantity(), orderQuantity, newQuantity);
+            log.info("재고 동기화 (비동기) - 도서: {}, 차감수량: {}, DB재고: {}",
+                    book.getBookName(), quantity, book.getBookQuantity());
+
+            bookCacheService.adjustCachedQuantity(bookId, -quantity);
 
-            // BookStockManager를 사용하여 재고 업데이트 및 Observer 패턴으로 알림 발송
-            BookStockManager stockManager = new BookStockManager(
-                    bookId,
-                    bookRepository,
-                    notificationSubRepository,
-                    mailService,
-                    taskExecutor
-            );
+            // Observer 패턴으로 알림 발송
+            createStockManager(bookId).notifyObservers();
 
-            stockManager.updateStock(newQuantity);
+            log.info("재고 동기화 및 알림 처리 완료 (비동기) - 도서ID: {}", bookId);
 
-            log.info("재고 업데이트 및 알림 처리 완료 (비동기) - 도서ID: {}", bookId);
+        } catch (Exception e) {
+            log.error("재고 동기화 및 알림 처리 중 오류 발생 (비동기) - 도서ID: {}", bookId, e);
+        }
+    }
 
+    /**
+     * 재고 변동 알림 처리 (비동기)
+     * - StockDeltaFlusher가 DB 반영 후 도서별로 한 번 호출
+     */
+    @Transactional
+    @Async
+    public void notifyStockChanged(Integer bookId) {
+        try {
+            createStockManager(bookId).notifyObservers();
         } catch (Exception e) {
-            log.error("재고 업데이트 및 알림 처리 중 오류 발생 (비동기) - 도서ID: {}", bookId, e);
+            log.error("재고 알림 처리 중 오류 발생 (비동기) - 도서ID: {}", bookId, e);
         }
     }
+
+    private BookStockManager createStockManager(Integer bookId) {
+        return new BookStockManager(
+                bookId,
+                bookRepository,
+                notificationSubRepository,
+                mailService,
+                taskExecutor
+        );
+    }
 }
@@ -0,0 +1,299 @@
+package com.fastcampus.book_bot.service.noti;
+
+import com.fastcampus.book_bot.service.book.BookCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Redis 재고 차감 내역 DB 일괄 반영 (write-behind)
+ * - 주문 Lua Script가 기록한 stock:delta 스트림을 Consumer Group으로 읽어 도서별 수량을 합산
+ * - 도서당 UPDATE books SET BOOK_QUANTITY = BOOK_QUANTITY - ? 한 번으로 반영 (인기 도서 행 잠금 경합 감소)
+ * - 반영한 내역 ID를 같은 트랜잭션에서 stock_delta_log에 기록하여 재전달 시 중복 반영 방지
+ * - DB 커밋 후 ACK하므로 장애 시 미반영 내역은 스트림에 남아 다른 노드가 회수(claim)
+ * - 형식이 잘못된 내역은 반영 전에 stock:delta:dead 스트림으로 이동 (회수/재시도를 반복하며 이후 내역 반영을 막지 않도록)
+ *   ACK/XADD/XDEL을 Script 하나로 처리하므로 이후 배치 반영이 실패해 재시도되어도 중복 기록되지 않음
+ */
+@Component
+@Slf4j
+public class StockDeltaFlusher {
+
+    private static final String STREAM_KEY = BookCacheService.STOCK_DELTA_STREAM;
+    private static final String DEAD_LETTER_STREAM = STREAM_KEY + ":dead";
+    private static final String GROUP = "stock-flusher";
+
+    private static final String SELECT_APPLIED_SQL = "SELECT DELTA_ID FROM stock_delta_log WHERE DELTA_ID IN (%s)";
+    private static final String INSERT_LOG_SQL = "INSERT INTO stock_delta_log (DELTA_ID, BOOK_ID, QUANTITY) VALUES (?, ?, ?)";
+    private static final String DECREASE_SQL = "UPDATE books SET BOOK_QUANTITY = BOOK_QUANTITY - ?, BOOK_VERSION = BOOK_VERSION + 1 WHERE BOOK_ID = ?";
+    private static final String PURGE_LOG_SQL = "DELETE FROM stock_delta_log WHERE CREATED_AT < ? LIMIT 10000";
+
+    private static final DefaultRedisScript<Long> DEAD_LETTER_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 차감 내역 스트림, Dead Letter 스트림 / ARGV: Consumer Group, 내역 ID, 사유, 필드/값들
+            // 반환: 1: 이동, 0: 이미 ACK된 내역
+            "if redis.call('XACK', KEYS[1], ARGV[1], ARGV[2]) == 0 then " +
+                    "    return 0 " +
+                    "end " +
+                    "local fields = {'*', 'sourceId', ARGV[2], 'error', ARGV[3]} " +
+                    "for i = 4, #ARGV do " +
+                    "    table.insert(fields, ARGV[i]) " +
+                    "end " +
+                    "redis.call('XADD', KEYS[2], unpack(fields)) " +
+                    "redis.call('XDEL', KEYS[1], ARGV[2]) " +
+                    "return 1",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderStockService orderStockService;
+    private final String consumerName = "flusher-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration claimIdleTime;
+    private final Duration logRetention;
+
+    private final Counter appliedCounter;
+    private final Counter duplicateCounter;
+    private final Counter rowUpdateCounter;
+    private final Counter deadLetterCounter;
+
+    public StockDeltaFlusher(StringRedisTemplate stringRedisTemplate,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             OrderStockService orderStockService,
+                             MeterRegistry meterRegistry,
+                             @Value("${book.stock.write-behind.batch-size:500}") int batchSize,
+                             @Value("${book.stock.write-behind.max-batches-per-run:20}") int maxBatchesPerRun,
+                             @Value("${book.stock.write-behind.claim-idle-seconds:30}") long claimIdleSeconds,
+                             @Value("${book.stock.write-behind.log-retention-days:7}") long logRetentionDays) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.orderStockService = orderStockService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.claimIdleTime = Duration.ofSeconds(claimIdleSeconds);
+        this.logRetention = Duration.ofDays(logRetentionDays);
+
+        this.appliedCounter = meterRegistry.counter("book.stock.write_behind.deltas", "result", "applied");
+        this.duplicateCounter = meterRegistry.counter("book.stock.write_behind.deltas", "result", "duplicate");
+        this.rowUpdateCounter = meterRegistry.counter("book.stock.write_behind.row_updates");
+        this.deadLetterCounter = meterRegistry.counter("book.stock.write_behind.deltas", "result", "dead_letter");
+    }
+
+    @PostConstruct
+    public void createGroup() {
+        byte[] streamKey = STREAM_KEY.getBytes(StandardCharsets.UTF_8);
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.streamCommands().xGroupCreate(streamKey, GROUP, ReadOffset.from("0"), true));
+            log.info("재고 차감 스트림 Consumer Group 생성 - {}", GROUP);
+        } catch (Exception e) {
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && (e.getCause() == null || !String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                log.error("재고 차감 스트림 Consumer Group 생성 실패", e);
+            }
+        }
+    }
+
+    /**
+     * 재고 차감 내역 일괄 반영
+     * - 일정 시간 ACK되지 않은 내역(장애 노드 또는 이전 실패분)을 먼저 회수한 뒤 신규 내역을 배치 단위로 처리
+     */
+    @Scheduled(fixedDelayString = "${book.stock.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        try {
+            List<MapRecord<String, Object, Object>> claimed = claimStaleRecords();
+            if (!claimed.isEmpty()) {
+                apply(claimed);
+            }
+
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                        Consumer.from(GROUP, consumerName),
+                        StreamReadOptions.empty().count(batchSize),
+                        StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+
+                if (records == null || records.isEmpty()) {
+                    return;
+                }
+
+                apply(records);
+
+                if (records.size() < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("재고 차감 내역 반영 실패 - 다음 주기에 재시도", e);
+        }
+    }
+
+    /**
+     * 오래된 반영 로그 정리 (재전달 가능 기간보다 충분히 길게 보관)
+     */
+    @Scheduled(cron = "0 10 4 * * *")
+    public void purgeLog() {
+        Timestamp threshold = Timestamp.valueOf(LocalDateTime.now().minus(logRetention));
+
+        int deleted;
+        int total = 0;
+        do {
+            deleted = jdbcTemplate.update(PURGE_LOG_SQL, threshold);
+            total += deleted;
+        } while (deleted > 0);
+
+        log.info("재고 차감 반영 로그 정리 완료 - 삭제: {}건", total);
+    }
+
+    private List<MapRecord<String, Object, Object>> claimStaleRecords() {
+        PendingMessages pending = stringRedisTemplate.opsForStream()
+                .pending(STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+
+        if (pending == null || pending.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        RecordId[] staleIds = pending.stream()
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdleTime) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+
+        if (staleIds.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = stringRedisTemplate.opsForStream()
+                .claim(STREAM_KEY, GROUP, consumerName, claimIdleTime, staleIds);
+
+        log.warn("미처리 재고 차감 내역 회수 - {}건", claimed.size());
+        return claimed;
+    }
+
+    private void apply(List<MapRecord<String, Object, Object>> records) {
+        List<StockDelta> parsed = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                parsed.add(parse(record));
+            } catch (RuntimeException e) {
+                moveToDeadLetter(record, e);
+            }
+        }
+
+        // 도서 ID 순으로 정렬하여 노드 간 행 잠금 순서를 통일
+        Map<Integer, Integer> deltas = new TreeMap<>();
+
+        if (!parsed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> applied = findAppliedIds(parsed);
+                List<Object[]> logRows = new ArrayList<>();
+
+                for (StockDelta delta : parsed) {
+                    if (applied.contains(delta.deltaId())) {
+                        duplicateCounter.increment();
+                        continue;
+                    }
+
+                    deltas.merge(delta.bookId(), delta.quantity(), Integer::sum);
+                    logRows.add(new Object[]{delta.deltaId(), delta.bookId(), delta.quantity()});
+                }
+
+                if (logRows.isEmpty()) {
+                    return;
+                }
+
+                jdbcTemplate.batchUpdate(INSERT_LOG_SQL, logRows);
+                jdbcTemplate.batchUpdate(DECREASE_SQL, deltas.entrySet().stream()
+                        .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                        .toList());
+
+                appliedCounter.increment(logRows.size());
+                rowUpdateCounter.increment(deltas.size());
+            });
+        }
+
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        stringRedisTemplate.opsForStream().acknowledge(STREAM_KEY, GROUP, ids);
+        stringRedisTemplate.opsForStream().delete(STREAM_KEY, ids);
+
+        if (!deltas.isEmpty()) {
+            log.info("재고 차감 내역 반영 - 내역: {}건, 도서: {}권", records.size(), deltas.size());
+            deltas.keySet().forEach(orderStockService::notifyStockChanged);
+        }
+    }
+
+    /**
+     * 스트림 항목 해석
+     * @throws IllegalArgumentException 필수 값 누락 또는 형식 오류
+     */
+    private StockDelta parse(MapRecord<String, Object, Object> record) {
+        Object bookId = record.getValue().get("bookId");
+        Object quantity = record.getValue().get("quantity");
+        if (bookId == null || quantity == null) {
+            throw new IllegalArgumentException("필수 값 누락: " + record.getValue());
+        }
+        return new StockDelta(record.getId().getValue(),
+                Integer.valueOf((String) bookId),
+                Integer.valueOf((String) quantity));
+    }
+
+    private Set<String> findAppliedIds(List<StockDelta> deltas) {
+        List<String> ids = deltas.stream().map(StockDelta::deltaId).toList();
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+
+        return new HashSet<>(jdbcTemplate.queryForList(
+                String.format(SELECT_APPLIED_SQL, placeholders), String.class, ids.toArray()));
+    }
+
+    private void moveToDeadLetter(MapRecord<String, Object, Object> record, Exception cause) {
+        List<String> args = new ArrayList<>();
+        args.add(GROUP);
+        args.add(record.getId().getValue());
+        args.add(String.valueOf(cause.getMessage()));
+        record.getValue().forEach((field, value) -> {
+            args.add(String.valueOf(field));
+            args.add(String.valueOf(value));
+        });
+
+        Long moved = stringRedisTemplate.execute(DEAD_LETTER_SCRIPT, List.of(STREAM_KEY, DEAD_LETTER_STREAM), args.toArray());
+        if (Long.valueOf(1).equals(moved)) {
+            deadLetterCounter.increment();
+            log.error("반영할 수 없는 재고 차감 내역 - Dead Letter 이동 - RecordId: {}", record.getId(), cause);
+        }
+    }
+
+    private record StockDelta(String deltaId, Integer bookId, Integer quantity) {
+    }
+}
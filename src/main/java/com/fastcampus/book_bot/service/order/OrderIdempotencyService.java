@@ -0,0 +1,183 @@
+package com.fastcampus.book_bot.service.order;
+
+import com.fastcampus.book_bot.common.exception.order.OrderDomainException;
+import com.fastcampus.book_bot.common.exception.order.OrderErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 주문 요청 중복 방지 (Idempotency-Key)
+ * - 처리 전 Lua Script 한 번으로 키 선점과 이전 결과 조회를 함께 수행
+ * - 처리 중: P|요청지문|선점 토큰 (주문 트랜잭션 타임아웃 이상 TTL, 처리 노드 장애 시 자동 해제)
+ * - 처리 완료: D|요청지문|응답 메시지 (재시도 시 주문을 다시 실행하지 않고 같은 응답 반환)
+ * - 해제/완료 기록은 선점 토큰이 일치할 때만 수행 (다른 요청의 선점을 지우거나 덮어쓰지 않음)
+ * - 요청지문은 SHA-256으로 비교 (해시 충돌로 다른 주문이 재전송으로 처리되지 않도록)
+ * - 키는 사용자별로 분리하여 다른 사용자의 결과가 노출되지 않도록 함
+ */
+@Service
+@Slf4j
+public class OrderIdempotencyService {
+
+    private static final String IDEMPOTENCY_KEY = "idempotency:order:";
+    private static final Pattern KEY_PATTERN = Pattern.compile("^[A-Za-z0-9_.:-]{8,64}$");
+    private static final String IN_FLIGHT = "P";
+    private static final String DONE = "D";
+    private static final String SEPARATOR = "|";
+
+    private static final DefaultRedisScript<String> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            // 기존 값이 있으면 반환, 없으면 처리 중으로 선점 후 nil 반환
+            "local current = redis.call('GET', KEYS[1]) " +
+                    "if current then " +
+                    "    return current " +
+                    "end " +
+                    "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+                    "return false",
+            String.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            // 자신의 선점일 때만 삭제
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "    return redis.call('DEL', KEYS[1]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            // 자신의 선점일 때만 처리 완료로 변경 / ARGV: 선점 값, 완료 값, TTL(ms)
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "    redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+                    "    return 1 " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private static final int COMPLETE_ATTEMPTS = 3;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration inFlightTtl;
+    private final Duration resultTtl;
+
+    public OrderIdempotencyService(StringRedisTemplate stringRedisTemplate,
+                                   @Value("${order.idempotency.in-flight-ttl-seconds:60}") long inFlightTtlSeconds,
+                                   @Value("${order.idempotency.result-ttl-hours:24}") long resultTtlHours,
+                                   @Value("${order.transaction.timeout-seconds:20}") long transactionTimeoutSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        // 처리 중 선점이 주문 트랜잭션보다 먼저 만료되면 재시도가 주문을 다시 실행하므로 타임아웃의 2배 이상 유지
+        this.inFlightTtl = Duration.ofSeconds(Math.max(inFlightTtlSeconds, transactionTimeoutSeconds * 2));
+        this.resultTtl = Duration.ofHours(resultTtlHours);
+    }
+
+    /**
+     * 중복 방지 실행
+     * @param idempotencyKey 클라이언트가 보낸 키 (없으면 중복 방지 없이 실행)
+     * @param requestFingerprint 요청 내용 식별 값 (같은 키로 다른 주문을 보내는 경우 거부)
+     * @param action 주문 처리 (응답 메시지 반환)
+     * @return 응답 메시지 (재전송이면 최초 응답 메시지)
+     */
+    public String execute(Integer userId, String idempotencyKey, String requestFingerprint, Supplier<String> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+
+        if (!KEY_PATTERN.matcher(idempotencyKey).matches()) {
+            throw OrderDomainException.badRequest(
+                    OrderErrorCode.INVALID_IDEMPOTENCY_KEY.getMessage(),
+                    OrderErrorCode.INVALID_IDEMPOTENCY_KEY.getCode()
+            );
+        }
+
+        String key = IDEMPOTENCY_KEY + userId + ":" + idempotencyKey;
+        String fingerprint = sha256(requestFingerprint);
+        String claim = IN_FLIGHT + SEPARATOR + fingerprint + SEPARATOR + UUID.randomUUID();
+
+        String previous = stringRedisTemplate.execute(
+                CLAIM_SCRIPT,
+                List.of(key),
+                claim,
+                String.valueOf(inFlightTtl.toMillis())
+        );
+
+        if (previous != null) {
+            return replay(idempotencyKey, fingerprint, previous);
+        }
+
+        String message;
+        try {
+            message = action.get();
+        } catch (RuntimeException e) {
+            // 실패한 요청은 같은 키로 다시 시도할 수 있도록 해제
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(key), claim);
+            throw e;
+        }
+
+        complete(key, claim, DONE + SEPARATOR + fingerprint + SEPARATOR + message);
+        return message;
+    }
+
+    /**
+     * 처리 완료 기록 (일시적 오류는 재시도)
+     * - 주문은 완료되었으므로 기록 실패는 응답에 영향 주지 않음 (처리 중 상태는 TTL 동안 재시도 요청을 거부)
+     */
+    private void complete(String key, String claim, String done) {
+        for (int attempt = 1; attempt <= COMPLETE_ATTEMPTS; attempt++) {
+            try {
+                Long updated = stringRedisTemplate.execute(COMPLETE_SCRIPT, List.of(key),
+                        claim, done, String.valueOf(resultTtl.toMillis()));
+                if (!Long.valueOf(1).equals(updated)) {
+                    log.warn("처리 중 선점 만료 - 주문 처리 결과 저장 생략 - Key: {}", key);
+                }
+                return;
+            } catch (Exception e) {
+                log.warn("주문 처리 결과 저장 실패 - Key: {}, 시도: {}/{}", key, attempt, COMPLETE_ATTEMPTS, e);
+            }
+        }
+        log.error("주문 처리 결과 저장 최종 실패 - 선점 만료 후 재시도 시 중복 주문 가능 - Key: {}", key);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private String replay(String idempotencyKey, String fingerprint, String previous) {
+        String[] parts = previous.split(Pattern.quote(SEPARATOR), 3);
+
+        if (!fingerprint.equals(parts[1])) {
+            throw OrderDomainException.unprocessableEntity(
+                    OrderErrorCode.IDEMPOTENCY_KEY_REUSED.getMessage(),
+                    OrderErrorCode.IDEMPOTENCY_KEY_REUSED.getCode(),
+                    Map.of("idempotencyKey", idempotencyKey)
+            );
+        }
+
+        if (IN_FLIGHT.equals(parts[0])) {
+            log.info("처리 중인 주문 요청 재전송 - Key: {}", idempotencyKey);
+            throw OrderDomainException.conflict(
+                    OrderErrorCode.REQUEST_IN_PROGRESS.getMessage(),
+                    OrderErrorCode.REQUEST_IN_PROGRESS.getCode(),
+                    Map.of("idempotencyKey", idempotencyKey)
+            );
+        }
+
+        log.info("완료된 주문 요청 재전송 - 기존 응답 반환 - Key: {}", idempotencyKey);
+        return parts[2];
+    }
+}
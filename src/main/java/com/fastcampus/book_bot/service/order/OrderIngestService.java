@@ -0,0 +1,82 @@
+package com.fastcampus.book_bot.service.order;
+
+import com.fastcampus.book_bot.dto.order.OrdersDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 비동기 주문 접수 (order.ingest.enabled=true)
+ * - Redis 재고 차감에 성공한 주문을 order:ingest 스트림에 기록하고 즉시 응답
+ * - OrderIngestWriter가 Consumer Group으로 읽어 JDBC 배치로 저장
+ * - 스트림 내구성은 Redis AOF(appendfsync) 설정에 따름
+ * - 접수와 함께 재고 보상 기록을 삭제 (접수된 주문은 스트림이 원본이므로 재고를 되돌리지 않음)
+ */
+@Service
+@Slf4j
+public class OrderIngestService {
+
+    public static final String ORDER_INGEST_STREAM = "order:ingest";
+
+    private static final DefaultRedisScript<String> ACCEPT_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 접수 스트림, 재고 보상 기록 Hash / ARGV: 주문 키, 이후 field/value 쌍
+            "local id = redis.call('XADD', KEYS[1], '*', unpack(ARGV, 2)) " +
+                    "redis.call('HDEL', KEYS[2], ARGV[1]) " +
+                    "return id",
+            String.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final Counter acceptedCounter;
+
+    public OrderIngestService(StringRedisTemplate stringRedisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.ingest.enabled:false}") boolean enabled) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.acceptedCounter = meterRegistry.counter("order.ingest.accepted");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 주문 접수
+     * @param orderKey 주문 키 (저장된 주문의 ORDER_KEY, 재고 보상 기록 키)
+     * @param items 주문 항목 (bookId, quantity, price 사용)
+     */
+    public void accept(String orderKey, Integer userId, Integer totalPrice, List<OrdersDTO> items) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("orderKey", orderKey);
+        fields.put("userId", String.valueOf(userId));
+        fields.put("totalPrice", String.valueOf(totalPrice));
+        fields.put("orderedAt", String.valueOf(System.currentTimeMillis()));
+        fields.put("items", items.stream()
+                .map(item -> item.getBookId() + ":" + item.getQuantity() + ":" + item.getPrice())
+                .collect(Collectors.joining(",")));
+
+        List<String> args = new ArrayList<>();
+        args.add(orderKey);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+
+        stringRedisTemplate.execute(ACCEPT_SCRIPT,
+                List.of(ORDER_INGEST_STREAM, StockCompensationService.COMPENSATION_KEY), args.toArray());
+        acceptedCounter.increment();
+
+        log.info("주문 접수 - OrderKey: {}, UserId: {}, 항목 수: {}", orderKey, userId, items.size());
+    }
+}
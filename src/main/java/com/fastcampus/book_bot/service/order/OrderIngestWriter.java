@@ -0,0 +1,392 @@
+package com.fastcampus.book_bot.service.order;
+
+import com.fastcampus.book_bot.repository.IdBlockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 비동기 접수 주문 저장
+ * - order:ingest 스트림을 Consumer Group으로 읽어 주문/주문상품을 JDBC 배치 INSERT
+ * - ID는 id_sequences에서 배치 크기만큼 블록으로 할당 (IDENTITY는 배치 불가)
+ * - ORDER_KEY 유니크 키로 재전달 시 중복 저장 방지, DB 커밋 후 ACK
+ * - 저장 전에 모든 주문을 먼저 해석하고, 형식이 잘못되었거나 제약 조건을 위반하는 주문은 order:ingest:dead 스트림으로 이동
+ *   (잘못된 주문 하나가 회수/재시도를 반복하며 이후 주문 저장을 막지 않도록 건별 분리)
+ * - 접수 시 차감한 재고는 Dead Letter 이동 전에 복구 (StockCompensationService.restore, 주문 키별 한 번만 반영)
+ * - Dead Letter 이동은 ACK/XADD/XDEL을 Script 하나로 처리하여 재시도 시 중복 기록되지 않음
+ */
+@Component
+@Slf4j
+public class OrderIngestWriter {
+
+    private static final String STREAM_KEY = OrderIngestService.ORDER_INGEST_STREAM;
+    private static final String DEAD_LETTER_STREAM = STREAM_KEY + ":dead";
+    private static final String GROUP = "order-writer";
+
+    private static final String SELECT_EXISTING_SQL = "SELECT ORDER_KEY FROM orders WHERE ORDER_KEY IN (%s)";
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO orders (ORDER_ID, ORDER_KEY, USER_ID, ORDER_STATUS, TOTAL_PRICE, ORDER_DAY, ORDER_DATE, CREATED_AT) " +
+                    "VALUES (?, ?, ?, 'ORDER_READY', ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_BOOK_SQL =
+            "INSERT INTO order_book (ORDER_BOOK_ID, ORDER_ID, BOOK_ID, QUANTITY, PRICE) VALUES (?, ?, ?, ?, ?)";
+
+    private static final DefaultRedisScript<Long> DEAD_LETTER_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 접수 스트림, Dead Letter 스트림 / ARGV: Consumer Group, 내역 ID, 사유, 필드/값들
+            // 반환: 1: 이동, 0: 이미 ACK된 내역
+            "if redis.call('XACK', KEYS[1], ARGV[1], ARGV[2]) == 0 then " +
+                    "    return 0 " +
+                    "end " +
+                    "local fields = {'*', 'sourceId', ARGV[2], 'error', ARGV[3]} " +
+                    "for i = 4, #ARGV do " +
+                    "    table.insert(fields, ARGV[i]) " +
+                    "end " +
+                    "redis.call('XADD', KEYS[2], unpack(fields)) " +
+                    "redis.call('XDEL', KEYS[1], ARGV[2]) " +
+                    "return 1",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdBlockRepository idBlockRepository;
+    private final StockCompensationService stockCompensationService;
+    private final String consumerName = "order-writer-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration claimIdleTime;
+
+    private final Counter persistedCounter;
+    private final Counter duplicateCounter;
+    private final Counter deadLetterCounter;
+
+    public OrderIngestWriter(StringRedisTemplate stringRedisTemplate,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             IdBlockRepository idBlockRepository,
+                             StockCompensationService stockCompensationService,
+                             MeterRegistry meterRegistry,
+                             @Value("${order.ingest.batch-size:200}") int batchSize,
+                             @Value("${order.ingest.max-batches-per-run:20}") int maxBatchesPerRun,
+                             @Value("${order.ingest.claim-idle-seconds:30}") long claimIdleSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.idBlockRepository = idBlockRepository;
+        this.stockCompensationService = stockCompensationService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.claimIdleTime = Duration.ofSeconds(claimIdleSeconds);
+
+        this.persistedCounter = meterRegistry.counter("order.ingest.orders", "result", "persisted");
+        this.duplicateCounter = meterRegistry.counter("order.ingest.orders", "result", "duplicate");
+        this.deadLetterCounter = meterRegistry.counter("order.ingest.orders", "result", "dead_letter");
+    }
+
+    @PostConstruct
+    public void createGroup() {
+        byte[] streamKey = STREAM_KEY.getBytes(StandardCharsets.UTF_8);
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.streamCommands().xGroupCreate(streamKey, GROUP, ReadOffset.from("0"), true));
+            log.info("주문 접수 스트림 Consumer Group 생성 - {}", GROUP);
+        } catch (Exception e) {
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && (e.getCause() == null || !String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                log.error("주문 접수 스트림 Consumer Group 생성 실패", e);
+            }
+        }
+    }
+
+    /**
+     * 접수 주문 일괄 저장
+     * - 일정 시간 ACK되지 않은 주문(장애 노드 또는 이전 실패분)을 먼저 회수한 뒤 신규 주문을 배치 단위로 처리
+     */
+    @Scheduled(fixedDelayString = "${order.ingest.flush-interval-ms:200}")
+    public void flush() {
+        try {
+            List<MapRecord<String, Object, Object>> claimed = claimStaleRecords();
+            if (!claimed.isEmpty()) {
+                write(claimed);
+            }
+
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                        Consumer.from(GROUP, consumerName),
+                        StreamReadOptions.empty().count(batchSize),
+                        StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+
+                if (records == null || records.isEmpty()) {
+                    return;
+                }
+
+                write(records);
+
+                if (records.size() < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("접수 주문 저장 실패 - 다음 주기에 재시도", e);
+        }
+    }
+
+    private List<MapRecord<String, Object, Object>> claimStaleRecords() {
+        PendingMessages pending = stringRedisTemplate.opsForStream()
+                .pending(STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+
+        if (pending == null || pending.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        RecordId[] staleIds = pending.stream()
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdleTime) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+
+        if (staleIds.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = stringRedisTemplate.opsForStream()
+                .claim(STREAM_KEY, GROUP, consumerName, claimIdleTime, staleIds);
+
+        log.warn("미처리 접수 주문 회수 - {}건", claimed.size());
+        return claimed;
+    }
+
+    private void write(List<MapRecord<String, Object, Object>> records) {
+        List<IngestOrder> orders = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                orders.add(parse(record));
+            } catch (RuntimeException e) {
+                moveToDeadLetter(record, parseQuantities(record), e);
+            }
+        }
+
+        if (!orders.isEmpty()) {
+            try {
+                persist(orders);
+            } catch (DataIntegrityViolationException e) {
+                // 배치 중 저장할 수 없는 주문이 있으면 한 건씩 저장하여 해당 주문만 분리
+                log.warn("접수 주문 배치 저장 실패 - 건별 저장으로 전환 - {}건", orders.size(), e);
+                for (IngestOrder order : orders) {
+                    try {
+                        persist(List.of(order));
+                    } catch (DataIntegrityViolationException ex) {
+                        moveToDeadLetter(order.source(), quantities(order.items()), ex);
+                    }
+                }
+            }
+        }
+
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        stringRedisTemplate.opsForStream().acknowledge(STREAM_KEY, GROUP, ids);
+        stringRedisTemplate.opsForStream().delete(STREAM_KEY, ids);
+    }
+
+    /**
+     * 스트림 항목 해석
+     * @throws IllegalArgumentException 필수 값 누락 또는 형식 오류
+     */
+    private IngestOrder parse(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> value = record.getValue();
+
+        LocalDateTime orderedAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Long.parseLong(field(value, "orderedAt"))), ZoneId.systemDefault());
+
+        List<int[]> items = new ArrayList<>();
+        for (String item : field(value, "items").split(",")) {
+            String[] values = item.split(":");
+            if (values.length != 3) {
+                throw new IllegalArgumentException("주문상품 형식 오류: " + item);
+            }
+            items.add(new int[]{Integer.parseInt(values[0]), Integer.parseInt(values[1]), Integer.parseInt(values[2])});
+        }
+
+        return new IngestOrder(record,
+                field(value, "orderKey"),
+                Integer.valueOf(field(value, "userId")),
+                Integer.valueOf(field(value, "totalPrice")),
+                orderedAt,
+                items);
+    }
+
+    private String field(Map<Object, Object> value, String name) {
+        Object field = value.get(name);
+        if (field == null || ((String) field).isBlank()) {
+            throw new IllegalArgumentException("필수 값 누락: " + name);
+        }
+        return (String) field;
+    }
+
+    private void persist(List<IngestOrder> records) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> existing = findExistingOrderKeys(records);
+
+            List<IngestOrder> orders = new ArrayList<>();
+            int itemCount = 0;
+            for (IngestOrder order : records) {
+                if (existing.contains(order.orderKey())) {
+                    duplicateCounter.increment();
+                    continue;
+                }
+                orders.add(order);
+                itemCount += order.items().size();
+            }
+
+            if (orders.isEmpty()) {
+                return;
+            }
+
+            long orderId = idBlockRepository.allocate("orders", orders.size());
+            long orderBookId = idBlockRepository.allocate("order_book", itemCount);
+
+            List<Object[]> orderRows = new ArrayList<>(orders.size());
+            List<Object[]> orderBookRows = new ArrayList<>(itemCount);
+
+            for (IngestOrder order : orders) {
+                LocalDateTime orderedAt = order.orderedAt();
+
+                orderRows.add(new Object[]{
+                        orderId,
+                        order.orderKey(),
+                        order.userId(),
+                        order.totalPrice(),
+                        Date.valueOf(orderedAt.toLocalDate()),
+                        Timestamp.valueOf(orderedAt),
+                        Timestamp.valueOf(orderedAt)
+                });
+
+                for (int[] item : order.items()) {
+                    orderBookRows.add(new Object[]{orderBookId++, orderId, item[0], item[1], item[2]});
+                }
+                orderId++;
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, orderRows);
+            jdbcTemplate.batchUpdate(INSERT_ORDER_BOOK_SQL, orderBookRows);
+
+            persistedCounter.increment(orderRows.size());
+            log.info("접수 주문 저장 - 주문: {}건, 주문상품: {}건", orderRows.size(), orderBookRows.size());
+        });
+    }
+
+    private Set<String> findExistingOrderKeys(List<IngestOrder> records) {
+        List<String> keys = records.stream().map(IngestOrder::orderKey).toList();
+        String placeholders = String.join(",", Collections.nCopies(keys.size(), "?"));
+
+        return new HashSet<>(jdbcTemplate.queryForList(
+                String.format(SELECT_EXISTING_SQL, placeholders), String.class, keys.toArray()));
+    }
+
+    /**
+     * 저장할 수 없는 주문을 Dead Letter로 이동
+     * - 사용자에게는 접수 성공으로 응답했고 보상 기록도 삭제되었으므로 차감 재고를 먼저 복구
+     * @param quantities 도서별 차감 수량 (해석할 수 없으면 null - 재고 수동 복구 필요)
+     */
+    private void moveToDeadLetter(MapRecord<String, Object, Object> record, Map<Integer, Integer> quantities, Exception cause) {
+        Object orderKey = record.getValue().get("orderKey");
+
+        if (quantities != null && orderKey != null) {
+            if (stockCompensationService.restore((String) orderKey, quantities)) {
+                log.warn("저장할 수 없는 접수 주문 - 재고 복구 - OrderKey: {}, 항목: {}", orderKey, quantities);
+            }
+        } else {
+            log.error("저장할 수 없는 접수 주문 - 차감 내역 해석 불가, 재고 수동 복구 필요 - RecordId: {}, 항목: {}",
+                    record.getId(), record.getValue().get("items"));
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add(GROUP);
+        args.add(record.getId().getValue());
+        args.add(String.valueOf(cause.getMessage()));
+        record.getValue().forEach((field, value) -> {
+            args.add(String.valueOf(field));
+            args.add(String.valueOf(value));
+        });
+
+        Long moved = stringRedisTemplate.execute(DEAD_LETTER_SCRIPT, List.of(STREAM_KEY, DEAD_LETTER_STREAM), args.toArray());
+        if (Long.valueOf(1).equals(moved)) {
+            deadLetterCounter.increment();
+            log.error("저장할 수 없는 접수 주문 - Dead Letter 이동 - RecordId: {}, OrderKey: {}",
+                    record.getId(), orderKey, cause);
+        }
+    }
+
+    /**
+     * 형식 오류 주문의 도서별 차감 수량 (주문상품 외 필드가 잘못된 경우에도 재고는 복구)
+     * @return 도서별 수량 (주문상품도 해석할 수 없으면 null)
+     */
+    private Map<Integer, Integer> parseQuantities(MapRecord<String, Object, Object> record) {
+        Object items = record.getValue().get("items");
+        if (items == null) {
+            return null;
+        }
+
+        try {
+            Map<Integer, Integer> quantities = new LinkedHashMap<>();
+            for (String item : ((String) items).split(",")) {
+                String[] values = item.split(":");
+                quantities.merge(Integer.valueOf(values[0]), Integer.valueOf(values[1]), Integer::sum);
+            }
+            return quantities;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Map<Integer, Integer> quantities(List<int[]> items) {
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        items.forEach(item -> quantities.merge(item[0], item[1], Integer::sum));
+        return quantities;
+    }
+
+    /**
+     * 해석된 접수 주문
+     * @param items {도서 ID, 수량, 가격} 목록
+     */
+    private record IngestOrder(MapRecord<String, Object, Object> source,
+                               String orderKey,
+                               Integer userId,
+                               Integer totalPrice,
+                               LocalDateTime orderedAt,
+                               List<int[]> items) {
+    }
+}
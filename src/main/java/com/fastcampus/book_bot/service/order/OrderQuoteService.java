@@ -0,0 +1,151 @@
+package com.fastcampus.book_bot.service.order;
+
+import com.fastcampus.book_bot.common.utils.JwtUtil;
+import com.fastcampus.book_bot.domain.user.User;
+import com.fastcampus.book_bot.dto.order.OrderCalculationResult;
+import com.fastcampus.book_bot.dto.order.OrdersDTO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 견적
+ * - 주문서 진입 시 계산한 금액을 Redis(quote:order:{quoteId})에 저장하고 서명된 짧은 수명의 견적 토큰 발급
+ * - 토큰에는 견적 ID, 사용자 ID, 주문 내용 지문(항목/등급/보유 포인트)만 포함
+ * - 주문 완료 시 토큰이 유효하고 지문이 같으면 저장된 금액을 그대로 사용 (미리보기와 결제 금액 일치)
+ * - 토큰 만료/위조, 다른 사용자, 지문 불일치(입력 변경), 견적 만료 시 null을 반환하여 호출 측이 다시 계산
+ */
+@Service
+@Slf4j
+public class OrderQuoteService {
+
+    private static final String QUOTE_KEY = "quote:order:";
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JwtUtil jwtUtil;
+    private final Duration quoteTtl;
+
+    private final Counter reusedCounter;
+    private final Counter changedCounter;
+    private final Counter invalidCounter;
+
+    public OrderQuoteService(StringRedisTemplate stringRedisTemplate,
+                             JwtUtil jwtUtil,
+                             MeterRegistry meterRegistry,
+                             @Value("${order.quote.ttl-seconds:600}") long quoteTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jwtUtil = jwtUtil;
+        this.quoteTtl = Duration.ofSeconds(quoteTtlSeconds);
+
+        this.reusedCounter = meterRegistry.counter("order.quote.resolve", "result", "reused");
+        this.changedCounter = meterRegistry.counter("order.quote.resolve", "result", "changed");
+        this.invalidCounter = meterRegistry.counter("order.quote.resolve", "result", "invalid");
+    }
+
+    /**
+     * 주문 내용 지문 (항목별 도서 ID/수량/가격, 등급, 보유 포인트의 SHA-256)
+     * - 금액 재사용 여부를 결정하므로 충돌을 만들 수 없는 해시 사용
+     */
+    public static String fingerprint(User user, List<OrdersDTO> items) {
+        String lines = items.stream()
+                .map(item -> item.getBookId() + ":" + item.getQuantity() + ":" + item.getPrice())
+                .collect(Collectors.joining(","));
+        String content = lines + SEPARATOR + user.getUserGrade().getGradeName() + SEPARATOR + user.getPoint();
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 견적 저장 및 토큰 발급
+     */
+    public String issue(Integer userId, String fingerprint, OrderCalculationResult result) {
+        String quoteId = UUID.randomUUID().toString();
+
+        stringRedisTemplate.opsForValue().set(QUOTE_KEY + quoteId, encode(result), quoteTtl);
+
+        return jwtUtil.createQuoteToken(userId, quoteId, fingerprint, quoteTtl.toMillis());
+    }
+
+    /**
+     * 견적 조회
+     * @return 재사용 가능한 견적 (없거나 입력이 바뀌었으면 null)
+     */
+    public OrderCalculationResult resolve(Integer userId, String quoteToken, String fingerprint) {
+        if (quoteToken == null || quoteToken.isBlank()) {
+            return null;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseQuoteToken(quoteToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidCounter.increment();
+            log.info("유효하지 않은 견적 토큰 - 금액 재계산 - UserId: {}, 사유: {}", userId, e.getMessage());
+            return null;
+        }
+
+        if (!userId.equals(claims.get("uid", Integer.class)) || !fingerprint.equals(claims.get("fp", String.class))) {
+            changedCounter.increment();
+            log.info("견적 이후 주문 내용 변경 - 금액 재계산 - UserId: {}", userId);
+            return null;
+        }
+
+        String stored = stringRedisTemplate.opsForValue().get(QUOTE_KEY + claims.getId());
+        if (stored == null) {
+            invalidCounter.increment();
+            log.info("만료된 견적 - 금액 재계산 - QuoteId: {}", claims.getId());
+            return null;
+        }
+
+        reusedCounter.increment();
+        return decode(stored);
+    }
+
+    private String encode(OrderCalculationResult result) {
+        return String.join(SEPARATOR,
+                String.valueOf(result.getOriginalAmount()),
+                String.valueOf(result.getGradeDiscountAmount()),
+                String.valueOf(result.getUsedPoints()),
+                String.valueOf(result.getAfterDiscountAmount()),
+                String.valueOf(result.getShippingCost()),
+                String.valueOf(result.getFinalAmount()),
+                String.valueOf(result.getEarnedMileage()),
+                result.getGradeName());
+    }
+
+    private OrderCalculationResult decode(String stored) {
+        String[] parts = stored.split(Pattern.quote(SEPARATOR), 8);
+
+        return OrderCalculationResult.builder()
+                .originalAmount(Integer.valueOf(parts[0]))
+                .gradeDiscountAmount(Integer.valueOf(parts[1]))
+                .usedPoints(Integer.valueOf(parts[2]))
+                .afterDiscountAmount(Integer.valueOf(parts[3]))
+                .shippingCost(Integer.valueOf(parts[4]))
+                .finalAmount(Integer.valueOf(parts[5]))
+                .earnedMileage(Integer.valueOf(parts[6]))
+                .gradeName(parts[7])
+                .build();
+    }
+}
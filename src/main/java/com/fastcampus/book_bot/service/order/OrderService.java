@@ -1,11 +1,19 @@
 package com.fastcampus.book_bot.service.order;
 
+import com.fastcampus.book_bot.common.exception.order.OrderDomainException;
+import com.fastcampus.book_bot.common.exception.order.OrderErrorCode;
 import com.fastcampus.book_bot.domain.book.Book;
 import com.fastcampus.book_bot.domain.orders.OrderBook;
 import com.fastcampus.book_bot.domain.orders.Orders;
 import com.fastcampus.book_bot.domain.user.User;
+import com.fastcampus.book_bot.dto.order.BatchQuoteDTO;
+import com.fastcampus.book_bot.dto.order.BatchQuoteRequestDTO;
+import com.fastcampus.book_bot.dto.order.CartOrderDTO;
+import com.fastcampus.book_bot.dto.order.LineQuoteDTO;
 import com.fastcampus.book_bot.dto.order.OrderCalculationResult;
+import com.fastcampus.book_bot.dto.order.OrderQuoteDTO;
 import com.fastcampus.book_bot.dto.order.OrdersDTO;
+import com.fastcampus.book_bot.dto.order.StockHoldDTO;
 import com.fastcampus.book_bot.repository.BookRepository;
 import com.fastcampus.book_bot.repository.OrderBookRepository;
 import com.fastcampus.book_bot.repository.OrderRepository;
@@ -13,24 +21,41 @@ import com.fastcampus.book_bot.service.book.BookCacheService;
 import com.fastcampus.book_bot.service.grade.GradeStrategy;
 import com.fastcampus.book_bot.service.grade.GradeStrategyFactory;
 import com.fastcampus.book_bot.service.noti.OrderStockService;
+import com.fastcampus.book_bot.service.stock.StockStrategy;
+import com.fastcampus.book_bot.service.stock.StockStrategyFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
 
+    private static final int MAX_QUOTE_LINES = 100;
+    private static final int MAX_POINT_SCENARIOS = 10;
+
     private final GradeStrategyFactory gradeStrategyFactory;
     private final OrderBookRepository orderBookRepository;
     private final OrderRepository orderRepository;
     private final BookCacheService bookCacheService;
     private final OrderStockService orderStockService;
+    private final StockHoldService stockHoldService;
+    private final StockStrategyFactory stockStrategyFactory;
+    private final OrderIngestService orderIngestService;
+    private final StockCompensationService stockCompensationService;
+    private final OrderQuoteService orderQuoteService;
     private final BookRepository bookRepository;
 
     /**
@@ -59,8 +84,87 @@ public class OrderService {
      * 주문 금액 계산 (기본 메서드)
      */
     public OrderCalculationResult calculateOrder(String gradeName, Integer originalAmount, Integer usedPoints) {
-        GradeStrategy strategy = gradeStrategyFactory.getStrategy(gradeName);
+        return calculateOrder(gradeStrategyFactory.getStrategy(gradeName), originalAmount, usedPoints);
+    }
+
+    /**
+     * 일괄 견적 (장바구니/위시리스트)
+     * - 등급 전략은 한 번만 조회하고 도서 가격은 한 번의 일괄 조회로 가져와 전체 항목을 한 번에 계산
+     * - 항목별 할인가/마일리지는 항목 금액 기준, 시나리오별 결제 금액은 주문 전체 금액 기준 (장바구니 주문과 동일)
+     * - 시나리오의 사용 포인트는 0 ~ 보유 포인트 범위로 제한
+     */
+    public BatchQuoteDTO quoteBatch(User user, BatchQuoteRequestDTO request) {
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            throw OrderDomainException.badRequest(
+                    OrderErrorCode.QUOTE_ITEMS_EMPTY.getMessage(),
+                    OrderErrorCode.QUOTE_ITEMS_EMPTY.getCode()
+            );
+        }
+        if (request.getItems().size() > MAX_QUOTE_LINES) {
+            throw OrderDomainException.badRequest(
+                    OrderErrorCode.QUOTE_TOO_MANY_ITEMS.getMessage(),
+                    OrderErrorCode.QUOTE_TOO_MANY_ITEMS.getCode(),
+                    Map.of("maxItems", MAX_QUOTE_LINES)
+            );
+        }
+
+        List<Integer> pointScenarios = request.getPointScenarios() == null || request.getPointScenarios().isEmpty()
+                ? List.of(user.getPoint())
+                : request.getPointScenarios();
+        if (pointScenarios.size() > MAX_POINT_SCENARIOS) {
+            throw OrderDomainException.badRequest(
+                    OrderErrorCode.QUOTE_TOO_MANY_SCENARIOS.getMessage(),
+                    OrderErrorCode.QUOTE_TOO_MANY_SCENARIOS.getCode(),
+                    Map.of("maxScenarios", MAX_POINT_SCENARIOS)
+            );
+        }
+
+        Map<Integer, Book> books = new LinkedHashMap<>();
+        bookCacheService.getBooks(request.getItems().stream().map(OrdersDTO::getBookId).toList())
+                .forEach(book -> books.put(book.getBookId(), book));
+
+        GradeStrategy strategy = gradeStrategyFactory.getStrategy(user.getUserGrade().getGradeName());
+
+        List<LineQuoteDTO> lines = new ArrayList<>(request.getItems().size());
+        int originalAmount = 0;
+        for (OrdersDTO item : request.getItems()) {
+            Book book = books.get(item.getBookId());
+            if (book == null) {
+                throw OrderDomainException.badRequest(
+                        OrderErrorCode.QUOTE_BOOK_NOT_FOUND.getMessage(),
+                        OrderErrorCode.QUOTE_BOOK_NOT_FOUND.getCode(),
+                        Map.of("bookId", String.valueOf(item.getBookId()))
+                );
+            }
+
+            int quantity = item.getQuantity() != null && item.getQuantity() > 0 ? item.getQuantity() : 1;
+            int lineAmount = book.getBookDiscount() * quantity;
+            originalAmount += lineAmount;
+
+            lines.add(LineQuoteDTO.builder()
+                    .bookId(book.getBookId())
+                    .quantity(quantity)
+                    .originalAmount(lineAmount)
+                    .discountedAmount(strategy.calculateDiscountedPrice(lineAmount))
+                    .earnedMileage(strategy.calculateMileage(lineAmount))
+                    .build());
+        }
+
+        List<OrderCalculationResult> scenarios = new ArrayList<>(pointScenarios.size());
+        for (Integer points : pointScenarios) {
+            int usedPoints = Math.max(0, Math.min(points != null ? points : 0, user.getPoint()));
+            scenarios.add(calculateOrder(strategy, originalAmount, usedPoints));
+        }
+
+        return BatchQuoteDTO.builder()
+                .gradeName(strategy.getGradeName())
+                .lines(lines)
+                .originalAmount(originalAmount)
+                .scenarios(scenarios)
+                .build();
+    }
 
+    private OrderCalculationResult calculateOrder(GradeStrategy strategy, Integer originalAmount, Integer usedPoints) {
         // 등급 할인 적용
         Integer discountedPrice = strategy.calculateDiscountedPrice(originalAmount);
         Integer gradeDiscountAmount = originalAmount - discountedPrice;
@@ -89,49 +193,51 @@ public class OrderService {
                 .build();
     }
 
-    @Transactional
+    /**
+     * 주문 견적 (주문서 진입 시)
+     * - 계산 결과를 저장하고 견적 토큰 발급 (주문 완료 시 같은 입력이면 재계산 없이 사용)
+     */
+    public OrderQuoteDTO quoteOrder(OrdersDTO ordersDTO, User user) {
+        OrderCalculationResult calculationResult = calculateOrder(ordersDTO, user);
+        String quoteToken = orderQuoteService.issue(user.getUserId(),
+                OrderQuoteService.fingerprint(user, List.of(ordersDTO)), calculationResult);
+
+        return OrderQuoteDTO.builder()
+                .quoteToken(quoteToken)
+                .calculationResult(calculationResult)
+                .build();
+    }
+
+    @Transactional(timeoutString = "${order.transaction.timeout-seconds:20}")
     public void saveOrder(User user, OrdersDTO ordersDTO) {
 
         try {
-            OrderCalculationResult calculationResult = calculateOrder(ordersDTO, user);
-            log.info("주문 금액 계산 완료 - 최종 결제금액: {}", calculationResult.getFinalAmount());
-
-            Book book;
-            boolean isRedis = false;
-
-            Integer currentStock = bookCacheService.getBookQuantity(ordersDTO.getBookId());
-
-            if (currentStock != null) {
-                isRedis = true;
-                log.info("Redis 캐시 히트 - BookId: {}, 현재재고: {}",
-                        ordersDTO.getBookId(), currentStock);
-
-                try {
-                    Long remainingStock = bookCacheService.decrementBookQuantity(
-                            ordersDTO.getBookId(),
-                            ordersDTO.getQuantity()
-                    );
+            OrderCalculationResult calculationResult = orderQuoteService.resolve(user.getUserId(),
+                    ordersDTO.getQuoteToken(), OrderQuoteService.fingerprint(user, List.of(ordersDTO)));
 
-                    log.info("원자적 재고 차감 성공 - 남은재고: {}", remainingStock);
-
-                    book = bookCacheService.getBook(ordersDTO.getBookId());
+            if (calculationResult != null) {
+                log.info("견적 금액 사용 - 최종 결제금액: {}", calculationResult.getFinalAmount());
+            } else {
+                calculationResult = calculateOrder(ordersDTO, user);
+                log.info("주문 금액 계산 완료 - 최종 결제금액: {}", calculationResult.getFinalAmount());
+            }
 
-                } catch (IllegalStateException e) {
-                    log.error("재고 부족으로 주문 실패 - BookId: {}, 요청수량: {}, 현재재고: {}",
-                            ordersDTO.getBookId(), ordersDTO.getQuantity(), currentStock);
-                    throw e;
-                } catch (IllegalArgumentException e) {
-                    log.error("Redis 재고 정보 없음 - DB로 폴백 - BookId: {}", ordersDTO.getBookId());
-                    isRedis = false;
-                    book = getBookFromDB(ordersDTO);
-                }
+            String orderKey = UUID.randomUUID().toString();
+            boolean isRedis = decreaseStock(user, orderKey, ordersDTO.getHoldId(),
+                    Map.of(ordersDTO.getBookId(), ordersDTO.getQuantity()));
+            log.info("재고 차감 성공 - BookId: {}, 수량: {}", ordersDTO.getBookId(), ordersDTO.getQuantity());
 
-            } else {
-                log.info("Redis 캐시 미스 - DB 조회 시작 - 도서ID: {}", ordersDTO.getBookId());
-                book = getBookFromDB(ordersDTO);
+            if (isRedis && orderIngestService.isEnabled()) {
+                // 비동기 접수 - 주문 저장은 OrderIngestWriter가 배치로 처리
+                orderIngestService.accept(orderKey, user.getUserId(), calculationResult.getFinalAmount(), List.of(ordersDTO));
+                return;
             }
 
+            // 캐시에서 만든 Book은 버전이 없어 새 엔티티로 취급되므로 주문상품에는 ID 참조만 연결
+            Book book = isRedis ? bookRepository.getReferenceById(ordersDTO.getBookId()) : getBookFromDB(ordersDTO);
+
             Orders order = Orders.builder()
+                    .orderKey(orderKey)
                     .user(user)
                     .orderStatus("ORDER_READY")
                     .totalPrice(calculationResult.getFinalAmount())
@@ -155,8 +261,6 @@ public class OrderService {
             log.info("주문상품 저장 성공 - 주문상품ID: {}, 수량: {}, 가격: {}",
                     savedOrderBook.getOrderBookId(), savedOrderBook.getQuantity(), savedOrderBook.getPrice());
 
-            orderStockService.updateStockAndNotify(book.getBookId(), ordersDTO.getQuantity());
-
             log.info("=== 주문 저장 프로세스 완료 (Redis 사용: {}) ===", isRedis);
 
         } catch (IllegalStateException e) {
@@ -170,6 +274,142 @@ public class OrderService {
         }
     }
 
+    /**
+     * 장바구니 주문 저장
+     * - 모든 항목의 재고를 한 번에 검증/차감 (하나라도 부족하면 전체 실패)
+     * - 하나의 Orders에 항목별 OrderBook 저장
+     * - 가격은 요청 값이 아닌 도서 정보 기준 (캐시 도서는 가격 계산에만 쓰고 주문상품에는 ID 참조 연결)
+     */
+    @Transactional(timeoutString = "${order.transaction.timeout-seconds:20}")
+    public void saveCartOrder(User user, CartOrderDTO cartOrderDTO) {
+
+        Map<Integer, Integer> quantities = mergeCartItems(cartOrderDTO);
+
+        List<Book> books = bookCacheService.getBooks(quantities.keySet());
+        if (books.size() != quantities.size()) {
+            log.error("장바구니에 존재하지 않는 도서 포함 - 요청: {}", quantities.keySet());
+            throw new IllegalArgumentException("존재하지 않는 도서가 포함되어 있습니다.");
+        }
+
+        String orderKey = UUID.randomUUID().toString();
+        boolean isRedis = decreaseStock(user, orderKey, cartOrderDTO.getHoldId(), quantities);
+
+        int originalAmount = books.stream()
+                .mapToInt(book -> book.getBookDiscount() * quantities.get(book.getBookId()))
+                .sum();
+
+        OrderCalculationResult calculationResult = calculateOrder(
+                user.getUserGrade().getGradeName(), originalAmount, user.getPoint());
+        log.info("장바구니 주문 금액 계산 완료 - 항목 수: {}, 최종 결제금액: {}",
+                books.size(), calculationResult.getFinalAmount());
+
+        if (isRedis && orderIngestService.isEnabled()) {
+            // 비동기 접수 - 주문 저장은 OrderIngestWriter가 배치로 처리
+            orderIngestService.accept(orderKey, user.getUserId(), calculationResult.getFinalAmount(), books.stream()
+                    .map(book -> OrdersDTO.builder()
+                            .bookId(book.getBookId())
+                            .quantity(quantities.get(book.getBookId()))
+                            .price(book.getBookDiscount())
+                            .build())
+                    .toList());
+            return;
+        }
+
+        Orders order = Orders.builder()
+                .orderKey(orderKey)
+                .user(user)
+                .orderStatus("ORDER_READY")
+                .totalPrice(calculationResult.getFinalAmount())
+                .orderDay(LocalDate.now())
+                .orderDate(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        Orders savedOrder = orderRepository.save(order);
+
+        List<OrderBook> orderBooks = books.stream()
+                .map(book -> OrderBook.builder()
+                        .order(savedOrder)
+                        .book(bookRepository.getReferenceById(book.getBookId()))
+                        .quantity(quantities.get(book.getBookId()))
+                        .price(book.getBookDiscount())
+                        .build())
+                .toList();
+
+        orderBookRepository.saveAll(orderBooks);
+        log.info("장바구니 주문 저장 성공 - 주문ID: {}, 주문상품 수: {}, 총금액: {}",
+                savedOrder.getOrderId(), orderBooks.size(), savedOrder.getTotalPrice());
+
+        log.info("=== 장바구니 주문 저장 프로세스 완료 (Redis 사용: {}) ===", isRedis);
+    }
+
+    /**
+     * 주문 항목 재고 홀드 (주문서 진입 시)
+     * - 홀드 만료 전 주문하면 holdId로 확보한 재고를 사용
+     */
+    public StockHoldDTO holdStock(User user, CartOrderDTO cartOrderDTO) {
+        return stockHoldService.hold(user.getUserId(), mergeCartItems(cartOrderDTO));
+    }
+
+    /**
+     * 장바구니 항목 검증 및 같은 도서 수량 합산 (요청 순서 유지)
+     */
+    private Map<Integer, Integer> mergeCartItems(CartOrderDTO cartOrderDTO) {
+        if (cartOrderDTO == null || cartOrderDTO.getItems() == null || cartOrderDTO.getItems().isEmpty()) {
+            throw new IllegalArgumentException("장바구니가 비어 있습니다.");
+        }
+
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (OrdersDTO item : cartOrderDTO.getItems()) {
+            if (item.getBookId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("올바르지 않은 주문 항목입니다: " + item.getBookId());
+            }
+            quantities.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * 재고 차감
+     * - 재고 홀드가 있으면 홀드를 판매로 전환하고, 만료/불일치 시 설정된 재고 전략으로 차감
+     * - write-behind 전략에 재고 정보가 없으면 DB 전략으로 폴백
+     * - Redis 경로로 차감한 경우 보상 기록 (주문 저장 실패 시 재고 복구)
+     * - DB 전략으로 차감한 경우 커밋 이후 캐시 재고 동기화 및 알림
+     * @return write-behind(Redis) 경로로 차감했는지 여부
+     */
+    private boolean decreaseStock(User user, String orderKey, String holdId, Map<Integer, Integer> quantities) {
+        if (stockHoldService.confirm(holdId, user.getUserId(), quantities)) {
+            stockCompensationService.register(orderKey, quantities);
+            return true;
+        }
+
+        StockStrategy strategy = stockStrategyFactory.getStrategy();
+        try {
+            strategy.decrease(quantities);
+        } catch (IllegalArgumentException e) {
+            if (strategy.isDurable()) {
+                throw e;
+            }
+            log.error("Redis 재고 정보 없음 - DB로 폴백 - BookIds: {}", quantities.keySet());
+            strategy = stockStrategyFactory.getFallbackStrategy();
+            strategy.decrease(quantities);
+        }
+
+        if (!strategy.isDurable()) {
+            // Redis에서 차감된 재고는 StockDeltaFlusher가 DB에 일괄 반영
+            stockCompensationService.register(orderKey, quantities);
+            return true;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                quantities.forEach(orderStockService::syncStockAndNotify);
+            }
+        });
+        return false;
+    }
+
     private Book getBookFromDB(OrdersDTO ordersDTO) {
         Book book = bookRepository.findById(ordersDTO.getBookId())
                 .orElseThrow(() -> {
@@ -0,0 +1,217 @@
+package com.fastcampus.book_bot.service.order;
+
+import com.fastcampus.book_bot.repository.OrderRepository;
+import com.fastcampus.book_bot.service.book.BookCacheService;
+import com.fastcampus.book_bot.service.book.BookNearCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 재고 차감 보상 (주문 저장 실패 시 재고 복구)
+ * - Redis 경로로 차감한 주문은 stock:compensation에 주문 키별 차감 내역을 기록 (생성 시각|도서ID:수량,...)
+ * - 트랜잭션 롤백 시 기록된 수량을 Redis 재고에 되돌리고 음수 차감 내역으로 DB에도 반영
+ * - 커밋 또는 비동기 접수(OrderIngestService) 시 기록 삭제
+ * - 노드 장애로 남은 기록은 스케줄러가 DB에 주문(ORDER_KEY)이 없을 때만 복구
+ * - 기록 삭제(HDEL)에 성공한 쪽만 복구하므로 롤백 훅과 스케줄러가 겹쳐도 한 번만 반영
+ * - 접수 후 저장할 수 없어 Dead Letter로 옮긴 주문은 OrderIngestWriter가 restore로 복구 (주문 키별 복구 표시로 한 번만 반영)
+ */
+@Service
+@Slf4j
+public class StockCompensationService {
+
+    public static final String COMPENSATION_KEY = "stock:compensation";
+
+    private static final String BOOK_CACHE = "book:";
+    private static final String SEPARATOR = "|";
+
+    /** 주문 키별 복구 표시 (접수 후 Dead Letter로 옮긴 주문의 중복 복구 방지) */
+    private static final String RESTORED_KEY = "stock:compensation:restored:";
+    private static final Duration RESTORED_TTL = Duration.ofDays(7);
+
+    // 도서별 재고 복구 및 음수 차감 내역 기록 (KEYS[2]: 차감 내역 스트림, KEYS[3..]: 도서 키 / ARGV[2..]: 수량들, 도서 ID들)
+    private static final String RESTORE_ITEMS =
+            "local count = #KEYS - 2 " +
+                    "for i = 1, count do " +
+                    "    if redis.call('EXISTS', KEYS[2 + i]) == 1 then " +
+                    "        redis.call('HINCRBY', KEYS[2 + i], 'quantity', ARGV[1 + i]) " +
+                    "    end " +
+                    "    redis.call('XADD', KEYS[2], '*', 'bookId', ARGV[1 + count + i], 'quantity', -tonumber(ARGV[1 + i])) " +
+                    "end " +
+                    "return 1";
+
+    private static final DefaultRedisScript<Long> COMPENSATE_SCRIPT = new DefaultRedisScript<>(
+            // KEYS[1]: 보상 기록 Hash / ARGV[1]: 주문 키
+            // 반환: 1: 복구, 0: 이미 처리됨
+            "if redis.call('HDEL', KEYS[1], ARGV[1]) == 0 then " +
+                    "    return 0 " +
+                    "end " +
+                    RESTORE_ITEMS,
+            Long.class);
+
+    private static final DefaultRedisScript<Long> RESTORE_SCRIPT = new DefaultRedisScript<>(
+            // KEYS[1]: 주문 키별 복구 표시 / ARGV[1]: 표시 TTL(초)
+            // 반환: 1: 복구, 0: 이미 처리됨
+            "if not redis.call('SET', KEYS[1], '1', 'NX', 'EX', ARGV[1]) then " +
+                    "    return 0 " +
+                    "end " +
+                    RESTORE_ITEMS,
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final OrderRepository orderRepository;
+    private final BookNearCache bookNearCache;
+    private final Duration recoveryGrace;
+
+    private final Counter committedCounter;
+    private final Counter rolledBackCounter;
+    private final Counter recoveredCounter;
+
+    public StockCompensationService(StringRedisTemplate stringRedisTemplate,
+                                    OrderRepository orderRepository,
+                                    BookNearCache bookNearCache,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${order.compensation.recovery-grace-seconds:300}") long recoveryGraceSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.orderRepository = orderRepository;
+        this.bookNearCache = bookNearCache;
+        this.recoveryGrace = Duration.ofSeconds(recoveryGraceSeconds);
+
+        this.committedCounter = meterRegistry.counter("order.stock.compensation", "result", "committed");
+        this.rolledBackCounter = meterRegistry.counter("order.stock.compensation", "result", "rolled_back");
+        this.recoveredCounter = meterRegistry.counter("order.stock.compensation", "result", "recovered");
+    }
+
+    /**
+     * Redis 재고 차감 기록 및 트랜잭션 완료 훅 등록
+     * - 롤백: 차감 수량 복구 / 커밋: 기록 삭제
+     */
+    public void register(String orderKey, Map<Integer, Integer> quantities) {
+        String items = quantities.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+        stringRedisTemplate.opsForHash().put(COMPENSATION_KEY, orderKey, System.currentTimeMillis() + SEPARATOR + items);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        stringRedisTemplate.opsForHash().delete(COMPENSATION_KEY, orderKey);
+                        committedCounter.increment();
+                    } else if (compensate(orderKey, quantities)) {
+                        rolledBackCounter.increment();
+                        log.warn("주문 저장 실패 - Redis 재고 복구 - OrderKey: {}, 항목: {}", orderKey, quantities);
+                    }
+                } catch (Exception e) {
+                    // 기록이 남아 있으므로 스케줄러가 복구
+                    log.error("재고 보상 처리 실패 - 스케줄러가 재시도 - OrderKey: {}", orderKey, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 장애로 남은 보상 기록 복구
+     * - 기록 후 일정 시간이 지났는데 주문이 DB에 없으면 차감 수량 복구, 있으면 기록만 삭제
+     */
+    @Scheduled(fixedDelayString = "${order.compensation.recovery-interval-ms:60000}")
+    public void recoverStale() {
+        long threshold = System.currentTimeMillis() - recoveryGrace.toMillis();
+        Map<String, String> stale = new LinkedHashMap<>();
+
+        try (Cursor<Map.Entry<Object, Object>> cursor = stringRedisTemplate.opsForHash()
+                .scan(COMPENSATION_KEY, ScanOptions.scanOptions().count(500).build())) {
+            while (cursor.hasNext()) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                String value = (String) entry.getValue();
+                if (Long.parseLong(value.substring(0, value.indexOf(SEPARATOR))) < threshold) {
+                    stale.put((String) entry.getKey(), value.substring(value.indexOf(SEPARATOR) + 1));
+                }
+            }
+        } catch (Exception e) {
+            log.error("재고 보상 기록 조회 실패 - 다음 주기에 재시도", e);
+            return;
+        }
+
+        stale.forEach((orderKey, items) -> {
+            try {
+                if (orderRepository.existsByOrderKey(orderKey)) {
+                    stringRedisTemplate.opsForHash().delete(COMPENSATION_KEY, orderKey);
+                    return;
+                }
+
+                if (compensate(orderKey, parseItems(items))) {
+                    recoveredCounter.increment();
+                    log.warn("미완료 주문 재고 복구 - OrderKey: {}, 항목: {}", orderKey, items);
+                }
+            } catch (Exception e) {
+                log.error("미완료 주문 재고 복구 실패 - OrderKey: {}", orderKey, e);
+            }
+        });
+    }
+
+    /**
+     * 접수 후 저장할 수 없는 주문(Dead Letter)의 차감 수량 복구
+     * - 접수 시 보상 기록은 이미 삭제되었으므로 주문 키별 복구 표시로 한 번만 반영
+     * @return 복구 여부 (이미 복구된 주문이면 false)
+     */
+    public boolean restore(String orderKey, Map<Integer, Integer> quantities) {
+        return execute(RESTORE_SCRIPT, RESTORED_KEY + orderKey, String.valueOf(RESTORED_TTL.toSeconds()), quantities);
+    }
+
+    private boolean compensate(String orderKey, Map<Integer, Integer> quantities) {
+        return execute(COMPENSATE_SCRIPT, COMPENSATION_KEY, orderKey, quantities);
+    }
+
+    private boolean execute(DefaultRedisScript<Long> script, String guardKey, String guardArg, Map<Integer, Integer> quantities) {
+        List<Integer> bookIds = new ArrayList<>(quantities.keySet());
+
+        List<String> keys = new ArrayList<>();
+        keys.add(guardKey);
+        keys.add(BookCacheService.STOCK_DELTA_STREAM);
+        bookIds.forEach(bookId -> keys.add(BOOK_CACHE + bookId));
+
+        List<String> args = new ArrayList<>();
+        args.add(guardArg);
+        bookIds.forEach(bookId -> args.add(String.valueOf(quantities.get(bookId))));
+        bookIds.forEach(bookId -> args.add(String.valueOf(bookId)));
+
+        Long result = stringRedisTemplate.execute(script, keys, args.toArray());
+        if (result == null || result == 0) {
+            return false;
+        }
+
+        bookIds.forEach(bookNearCache::invalidate);
+        return true;
+    }
+
+    private Map<Integer, Integer> parseItems(String items) {
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (String item : items.split(",")) {
+            String[] parts = item.split(":");
+            quantities.put(Integer.valueOf(parts[0]), Integer.valueOf(parts[1]));
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,358 @@
+package com.fastcampus.book_bot.service.order;
+
+import com.fastcampus.book_bot.domain.book.Book;
+import com.fastcampus.book_bot.dto.order.StockHoldDTO;
+import com.fastcampus.book_bot.service.book.BookCacheService;
+import com.fastcampus.book_bot.service.book.BookNearCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 주문 진행 중 재고 홀드
+ * - 주문서 진입 시 도서별 수량을 stock:reserved에 예약하여 결제 시점의 재고 부족 실패 방지
+ * - 가용 재고 = 도서 캐시 quantity - reserved (일반 주문 차감 Script도 같은 기준으로 검증)
+ * - 홀드는 만료 시각 ZSet으로 관리하고 스케줄러가 만료분을 반환 (키스페이스 알림은 유실 가능성이 있어 사용하지 않음)
+ * - 주문 완료 시 홀드를 판매로 전환 (reserved와 quantity를 함께 차감)
+ * - 사용자별 홀드 색인(hold:user:{userId})으로 같은 도서의 이전 홀드는 새 홀드 생성 시 반환하고 홀드 수를 제한
+ *   (주문서 새로고침/뒤로 가기/반복 요청으로 재고를 모두 묶어 두지 못하도록)
+ */
+@Service
+@Slf4j
+public class StockHoldService {
+
+    private static final String HOLD_KEY = "hold:";
+    private static final String HOLD_EXPIRY_KEY = "stock:hold:expiry";
+    private static final String USER_HOLDS_KEY = "hold:user:";
+    private static final String USER_FIELD = "_userId";
+    private static final Duration HOLD_KEY_GRACE = Duration.ofHours(1);
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> HOLD_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 홀드 Hash, 만료 ZSet, 홀드 수량 Hash, 사용자 홀드 색인 ZSet, 도서 키들
+            // ARGV: 홀드 ID, 만료 시각(ms), 홀드 Hash TTL(초), 사용자 ID, 사용자별 최대 홀드 수, 수량들, 도서 ID들
+            // 반환: {결과코드, 실패 항목 번호} - -1: 재고 정보 없음, -2: 재고 부족, -3: 타입 오류, -7: 홀드 수 초과
+            // 이전 홀드 Hash 키는 색인에서 읽어 Script 안에서 조합 (단일 Redis 인스턴스 기준)
+            "local count = #KEYS - 4 " +
+                    // 1. 같은 사용자의 이전 홀드 정리 - 판매/반환된 홀드는 색인에서 제거, 같은 도서를 포함한 홀드는 반환
+                    "for _, previous in ipairs(redis.call('ZRANGE', KEYS[4], 0, -1)) do " +
+                    "    if redis.call('ZSCORE', KEYS[2], previous) == false then " +
+                    "        redis.call('ZREM', KEYS[4], previous) " +
+                    "    else " +
+                    "        local previousKey = '" + HOLD_KEY + "' .. previous " +
+                    "        local overlaps = false " +
+                    "        for i = 1, count do " +
+                    "            if redis.call('HEXISTS', previousKey, ARGV[5 + count + i]) == 1 then " +
+                    "                overlaps = true " +
+                    "            end " +
+                    "        end " +
+                    "        if overlaps then " +
+                    "            redis.call('ZREM', KEYS[2], previous) " +
+                    "            redis.call('ZREM', KEYS[4], previous) " +
+                    "            local fields = redis.call('HGETALL', previousKey) " +
+                    "            for j = 1, #fields, 2 do " +
+                    "                if fields[j] ~= '" + USER_FIELD + "' then " +
+                    "                    local left = redis.call('HINCRBY', KEYS[3], fields[j], -tonumber(fields[j + 1])) " +
+                    "                    if left <= 0 then " +
+                    "                        redis.call('HDEL', KEYS[3], fields[j]) " +
+                    "                    end " +
+                    "                end " +
+                    "            end " +
+                    "            redis.call('DEL', previousKey) " +
+                    "        end " +
+                    "    end " +
+                    "end " +
+                    "if redis.call('ZCARD', KEYS[4]) >= tonumber(ARGV[5]) then " +
+                    "    return {-7, 0} " +
+                    "end " +
+                    // 2. 가용 재고 검증
+                    "for i = 1, count do " +
+                    "    local current = redis.call('HGET', KEYS[4 + i], 'quantity') " +
+                    "    if current == false then " +
+                    "        return {-1, i} " +
+                    "    end " +
+                    "    current = tonumber(current) " +
+                    "    if current == nil then " +
+                    "        return {-3, i} " +
+                    "    end " +
+                    "    local reserved = tonumber(redis.call('HGET', KEYS[3], ARGV[5 + count + i]) or '0') " +
+                    "    if current - reserved < tonumber(ARGV[5 + i]) then " +
+                    "        return {-2, i} " +
+                    "    end " +
+                    "end " +
+                    // 3. 예약 및 사용자 색인 등록
+                    "for i = 1, count do " +
+                    "    redis.call('HINCRBY', KEYS[3], ARGV[5 + count + i], ARGV[5 + i]) " +
+                    "    redis.call('HSET', KEYS[1], ARGV[5 + count + i], ARGV[5 + i]) " +
+                    "end " +
+                    "redis.call('HSET', KEYS[1], '" + USER_FIELD + "', ARGV[4]) " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+                    "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) " +
+                    "redis.call('ZADD', KEYS[4], ARGV[2], ARGV[1]) " +
+                    "redis.call('EXPIRE', KEYS[4], ARGV[3]) " +
+                    "return {0, 0}",
+            List.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 홀드 Hash, 만료 ZSet, 홀드 수량 Hash / ARGV: 홀드 ID, 사용자 ID(빈 값이면 검증 생략)
+            // 반환: 1 반환 완료, 0 이미 처리됨, -1 소유자 불일치
+            "if ARGV[2] ~= '' and redis.call('HGET', KEYS[1], '" + USER_FIELD + "') ~= ARGV[2] then " +
+                    "    return -1 " +
+                    "end " +
+                    "if redis.call('ZREM', KEYS[2], ARGV[1]) == 0 then " +
+                    "    return 0 " +
+                    "end " +
+                    "local fields = redis.call('HGETALL', KEYS[1]) " +
+                    "for i = 1, #fields, 2 do " +
+                    "    if fields[i] ~= '" + USER_FIELD + "' then " +
+                    "        local left = redis.call('HINCRBY', KEYS[3], fields[i], -tonumber(fields[i + 1])) " +
+                    "        if left <= 0 then " +
+                    "            redis.call('HDEL', KEYS[3], fields[i]) " +
+                    "        end " +
+                    "    end " +
+                    "end " +
+                    "redis.call('DEL', KEYS[1]) " +
+                    "return 1",
+            Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> CONFIRM_SCRIPT = new DefaultRedisScript<>(
+            // KEYS: 홀드 Hash, 만료 ZSet, 홀드 수량 Hash, 재고 차감 스트림, 도서 키들
+            // ARGV: 홀드 ID, 사용자 ID, 현재 시각(ms), 수량들, 도서 ID들
+            // 반환: {결과코드, 항목 번호} - -1: 재고 정보 없음, -4: 만료/없음, -5: 주문 내용 불일치, -6: 소유자 불일치
+            "local count = #KEYS - 4 " +
+                    "local expireAt = redis.call('ZSCORE', KEYS[2], ARGV[1]) " +
+                    "if expireAt == false or tonumber(expireAt) < tonumber(ARGV[3]) then " +
+                    "    return {-4, 0} " +
+                    "end " +
+                    "if redis.call('HGET', KEYS[1], '" + USER_FIELD + "') ~= ARGV[2] then " +
+                    "    return {-6, 0} " +
+                    "end " +
+                    "if redis.call('HLEN', KEYS[1]) - 1 ~= count then " +
+                    "    return {-5, 0} " +
+                    "end " +
+                    "for i = 1, count do " +
+                    "    if redis.call('HGET', KEYS[1], ARGV[3 + count + i]) ~= ARGV[3 + i] then " +
+                    "        return {-5, i} " +
+                    "    end " +
+                    "    if redis.call('EXISTS', KEYS[4 + i]) == 0 then " +
+                    "        return {-1, i} " +
+                    "    end " +
+                    "end " +
+                    "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+                    "for i = 1, count do " +
+                    "    local bookId = ARGV[3 + count + i] " +
+                    "    redis.call('HINCRBY', KEYS[4 + i], 'quantity', -tonumber(ARGV[3 + i])) " +
+                    "    local left = redis.call('HINCRBY', KEYS[3], bookId, -tonumber(ARGV[3 + i])) " +
+                    "    if left <= 0 then " +
+                    "        redis.call('HDEL', KEYS[3], bookId) " +
+                    "    end " +
+                    "    redis.call('XADD', KEYS[4], '*', 'bookId', bookId, 'quantity', ARGV[3 + i]) " +
+                    "end " +
+                    "redis.call('DEL', KEYS[1]) " +
+                    "return {0, 0}",
+            List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BookCacheService bookCacheService;
+    private final BookNearCache bookNearCache;
+    private final Duration holdTtl;
+    private final int maxHoldsPerUser;
+
+    private final Counter heldCounter;
+    private final Counter confirmedCounter;
+    private final Counter releasedCounter;
+    private final Counter expiredCounter;
+
+    public StockHoldService(StringRedisTemplate stringRedisTemplate,
+                            BookCacheService bookCacheService,
+                            BookNearCache bookNearCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${book.stock.hold.ttl-seconds:600}") long holdTtlSeconds,
+                            @Value("${book.stock.hold.max-per-user:5}") int maxHoldsPerUser) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.bookCacheService = bookCacheService;
+        this.bookNearCache = bookNearCache;
+        this.holdTtl = Duration.ofSeconds(holdTtlSeconds);
+        this.maxHoldsPerUser = maxHoldsPerUser;
+
+        this.heldCounter = meterRegistry.counter("book.stock.hold", "result", "held");
+        this.confirmedCounter = meterRegistry.counter("book.stock.hold", "result", "confirmed");
+        this.releasedCounter = meterRegistry.counter("book.stock.hold", "result", "released");
+        this.expiredCounter = meterRegistry.counter("book.stock.hold", "result", "expired");
+    }
+
+    /**
+     * 재고 홀드 생성 (전체 항목 all-or-nothing)
+     * - 같은 사용자의 진행 중인 홀드 중 같은 도서를 포함한 홀드는 먼저 반환
+     * @param quantities 도서 ID별 수량
+     */
+    public StockHoldDTO hold(Integer userId, Map<Integer, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()
+                || quantities.values().stream().anyMatch(quantity -> quantity == null || quantity <= 0)) {
+            throw new IllegalArgumentException("올바르지 않은 홀드 요청입니다.");
+        }
+
+        // 도서 존재 확인 및 캐시 미적재 도서 적재 (홀드는 Redis 재고 기준)
+        List<Book> books = bookCacheService.getBooks(quantities.keySet());
+        if (books.size() != quantities.size()) {
+            throw new IllegalArgumentException("존재하지 않는 도서가 포함되어 있습니다.");
+        }
+
+        List<Integer> bookIds = new ArrayList<>(quantities.keySet());
+        String holdId = UUID.randomUUID().toString();
+        long expireAt = System.currentTimeMillis() + holdTtl.toMillis();
+
+        List<String> keys = new ArrayList<>(List.of(HOLD_KEY + holdId, HOLD_EXPIRY_KEY,
+                BookCacheService.STOCK_RESERVED_KEY, USER_HOLDS_KEY + userId));
+        bookIds.forEach(bookId -> keys.add("book:" + bookId));
+
+        List<String> args = new ArrayList<>(List.of(
+                holdId,
+                String.valueOf(expireAt),
+                String.valueOf(holdTtl.plus(HOLD_KEY_GRACE).getSeconds()),
+                String.valueOf(userId),
+                String.valueOf(maxHoldsPerUser)));
+        bookIds.forEach(bookId -> args.add(String.valueOf(quantities.get(bookId))));
+        bookIds.forEach(bookId -> args.add(String.valueOf(bookId)));
+
+        List<?> result = stringRedisTemplate.execute(HOLD_SCRIPT, keys, args.toArray());
+        long code = resultCode(result);
+
+        if (code == -7) {
+            log.warn("사용자별 홀드 수 초과 - UserId: {}, 최대: {}", userId, maxHoldsPerUser);
+            throw new IllegalStateException("진행 중인 주문서가 너무 많습니다. 기존 주문을 완료하거나 잠시 후 다시 시도해주세요.");
+        }
+
+        if (code != 0) {
+            Integer failedBookId = bookIds.get(((Number) result.get(1)).intValue() - 1);
+            log.warn("재고 홀드 실패 - UserId: {}, BookId: {}, 결과코드: {}", userId, failedBookId, code);
+
+            if (code == -2) {
+                throw new IllegalStateException("재고가 부족합니다. BookId: " + failedBookId);
+            }
+            throw new IllegalStateException("재고 정보를 확인할 수 없습니다. BookId: " + failedBookId);
+        }
+
+        heldCounter.increment();
+        log.info("재고 홀드 생성 - HoldId: {}, UserId: {}, 항목: {}", holdId, userId, quantities);
+
+        return StockHoldDTO.builder()
+                .holdId(holdId)
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expireAt), ZoneId.systemDefault()))
+                .build();
+    }
+
+    /**
+     * 홀드를 판매로 전환 (주문 완료)
+     * - 주문 내용이 홀드와 같을 때만 전환하고, 다르면 홀드를 반환
+     * @return 전환 성공 여부 (false이면 일반 재고 차감 경로로 진행)
+     */
+    public boolean confirm(String holdId, Integer userId, Map<Integer, Integer> quantities) {
+        if (holdId == null || holdId.isBlank()) {
+            return false;
+        }
+
+        List<Integer> bookIds = new ArrayList<>(quantities.keySet());
+
+        List<String> keys = new ArrayList<>(List.of(HOLD_KEY + holdId, HOLD_EXPIRY_KEY,
+                BookCacheService.STOCK_RESERVED_KEY, BookCacheService.STOCK_DELTA_STREAM));
+        bookIds.forEach(bookId -> keys.add("book:" + bookId));
+
+        List<String> args = new ArrayList<>(List.of(
+                holdId, String.valueOf(userId), String.valueOf(System.currentTimeMillis())));
+        bookIds.forEach(bookId -> args.add(String.valueOf(quantities.get(bookId))));
+        bookIds.forEach(bookId -> args.add(String.valueOf(bookId)));
+
+        List<?> result = stringRedisTemplate.execute(CONFIRM_SCRIPT, keys, args.toArray());
+        long code = resultCode(result);
+
+        if (code == 0) {
+            bookIds.forEach(bookNearCache::invalidate);
+            confirmedCounter.increment();
+            log.info("재고 홀드 판매 전환 - HoldId: {}, 항목: {}", holdId, quantities);
+            return true;
+        }
+
+        if (code == -4) {
+            log.warn("만료되었거나 존재하지 않는 홀드 - HoldId: {}", holdId);
+        } else if (code == -6) {
+            log.warn("홀드 소유자 불일치 - HoldId: {}, UserId: {}", holdId, userId);
+        } else {
+            log.warn("홀드 전환 불가 - 홀드 반환 후 일반 주문으로 진행 - HoldId: {}, 결과코드: {}", holdId, code);
+            release(holdId, userId);
+        }
+        return false;
+    }
+
+    /**
+     * 홀드 반환 (주문 취소/이탈)
+     */
+    public boolean release(String holdId, Integer userId) {
+        Long result = stringRedisTemplate.execute(
+                RELEASE_SCRIPT,
+                List.of(HOLD_KEY + holdId, HOLD_EXPIRY_KEY, BookCacheService.STOCK_RESERVED_KEY),
+                holdId,
+                userId != null ? String.valueOf(userId) : ""
+        );
+
+        if (result != null && result == 1) {
+            releasedCounter.increment();
+            log.info("재고 홀드 반환 - HoldId: {}", holdId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 만료된 홀드 반환
+     * - ZREM 성공한 노드만 반환하므로 여러 노드에서 동시에 실행해도 한 번만 처리
+     */
+    @Scheduled(fixedDelay = 5_000)
+    public void releaseExpiredHolds() {
+        try {
+            Set<String> expired = stringRedisTemplate.opsForZSet()
+                    .rangeByScore(HOLD_EXPIRY_KEY, 0, System.currentTimeMillis(), 0, SWEEP_BATCH_SIZE);
+
+            if (expired == null || expired.isEmpty()) {
+                return;
+            }
+
+            int released = 0;
+            for (String holdId : expired) {
+                if (release(holdId, null)) {
+                    released++;
+                }
+            }
+
+            expiredCounter.increment(released);
+            log.info("만료된 재고 홀드 반환 - {}건", released);
+        } catch (Exception e) {
+            log.error("만료된 재고 홀드 반환 실패", e);
+        }
+    }
+
+    private long resultCode(List<?> result) {
+        if (result == null || result.size() < 2) {
+            log.error("재고 홀드 Lua Script 실행 실패");
+            throw new RuntimeException("재고 홀드 처리 실패");
+        }
+        return ((Number) result.get(0)).longValue();
+    }
+}
@@ -0,0 +1,49 @@
+package com.fastcampus.book_bot.service.stock;
+
+import com.fastcampus.book_bot.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 조건부 UPDATE 차감
+ * - UPDATE ... SET BOOK_QUANTITY = BOOK_QUANTITY - ? WHERE BOOK_ID = ? AND BOOK_QUANTITY >= ?
+ * - 조회 없이 한 문장으로 검증/차감하므로 갱신 유실 없음 (행 잠금은 UPDATE 동안만 유지)
+ * - 실패 항목이 있으면 예외로 트랜잭션을 롤백하여 앞서 차감한 항목 복구
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalUpdateStockStrategy implements StockStrategy {
+
+    private final BookRepository bookRepository;
+
+    @Override
+    @Transactional
+    public void decrease(Map<Integer, Integer> quantities) {
+        // 도서 ID 순으로 차감하여 트랜잭션 간 행 잠금 순서를 통일
+        for (Map.Entry<Integer, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            if (bookRepository.decreaseBookQuantity(entry.getKey(), entry.getValue()) == 0) {
+                if (!bookRepository.existsById(entry.getKey())) {
+                    throw new IllegalArgumentException("존재하지 않는 도서입니다: " + entry.getKey());
+                }
+                log.warn("재고 부족으로 차감 실패 - BookId: {}, 요청수량: {}", entry.getKey(), entry.getValue());
+                throw new IllegalStateException("재고가 부족합니다. BookId: " + entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "conditional";
+    }
+}
@@ -0,0 +1,123 @@
+package com.fastcampus.book_bot.service.stock;
+
+import com.fastcampus.book_bot.domain.book.Book;
+import com.fastcampus.book_bot.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 낙관적 락 차감 (@Version)
+ * - 잠금 없이 조회/검증 후 BOOK_VERSION 조건으로 갱신, 충돌 시 재조회하여 재시도
+ * - 충돌한 트랜잭션은 롤백되어야 하므로 시도마다 별도 트랜잭션(REQUIRES_NEW)으로 실행
+ * - 차감이 주문 트랜잭션보다 먼저 커밋되므로 주문 트랜잭션이 롤백되면 차감 수량을 다시 더함
+ */
+@Component
+@Slf4j
+public class OptimisticLockStockStrategy implements StockStrategy {
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticLockStockStrategy(BookRepository bookRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${book.stock.optimistic.max-attempts:10}") int maxAttempts,
+                                       @Value("${book.stock.optimistic.backoff-ms:5}") long backoffMillis) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    @Override
+    public void decrease(Map<Integer, Integer> quantities) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> decreaseOnce(quantities));
+                registerRollbackRestore(quantities);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("재고 차감 버전 충돌 - 재시도: {}/{}, BookIds: {}", attempt, maxAttempts, quantities.keySet());
+                backoff(attempt);
+            }
+        }
+
+        log.warn("재고 차감 재시도 횟수 초과 - BookIds: {}", quantities.keySet());
+        throw new IllegalStateException("주문이 몰려 재고를 차감하지 못했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private void decreaseOnce(Map<Integer, Integer> quantities) {
+        List<Book> books = bookRepository.findAllById(quantities.keySet());
+        if (books.size() != quantities.size()) {
+            throw new IllegalArgumentException("존재하지 않는 도서가 포함되어 있습니다.");
+        }
+
+        for (Book book : books) {
+            Integer quantity = quantities.get(book.getBookId());
+            if (book.getBookQuantity() == null || book.getBookQuantity() < quantity) {
+                throw new IllegalStateException("재고가 부족합니다. 현재 재고: " + book.getBookQuantity()
+                        + " BookId: " + book.getBookId());
+            }
+            book.setBookQuantity(book.getBookQuantity() - quantity);
+        }
+    }
+
+    /**
+     * 호출 측 트랜잭션이 롤백되면 차감 수량 복구 (별도 트랜잭션)
+     */
+    private void registerRollbackRestore(Map<Integer, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+
+                try {
+                    transactionTemplate.executeWithoutResult(restore ->
+                            new TreeMap<>(quantities).forEach(bookRepository::increaseBookQuantity));
+                    log.info("주문 롤백으로 재고 복구 - 항목: {}", quantities);
+                } catch (Exception e) {
+                    log.error("주문 롤백 재고 복구 실패 - 항목: {}", quantities, e);
+                }
+            }
+        });
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 차감 중 인터럽트 발생", e);
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "optimistic";
+    }
+}
@@ -0,0 +1,56 @@
+package com.fastcampus.book_bot.service.stock;
+
+import com.fastcampus.book_bot.domain.book.Book;
+import com.fastcampus.book_bot.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 비관적 락 차감
+ * - SELECT ... FOR UPDATE로 도서 행을 잠근 뒤 검증/차감 (변경 감지로 반영)
+ * - 잠금은 트랜잭션 종료까지 유지되므로 주문 트랜잭션 전체가 같은 도서 주문과 직렬화됨
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PessimisticLockStockStrategy implements StockStrategy {
+
+    private final BookRepository bookRepository;
+
+    @Override
+    @Transactional
+    public void decrease(Map<Integer, Integer> quantities) {
+        // 도서 ID 순으로 잠금 (교착 상태 방지)
+        List<Book> books = bookRepository.findAllByIdForUpdate(quantities.keySet());
+        if (books.size() != quantities.size()) {
+            throw new IllegalArgumentException("존재하지 않는 도서가 포함되어 있습니다.");
+        }
+
+        for (Book book : books) {
+            Integer quantity = quantities.get(book.getBookId());
+            if (book.getBookQuantity() == null || book.getBookQuantity() < quantity) {
+                log.warn("재고 부족으로 차감 실패 - BookId: {}, 요청수량: {}, 현재재고: {}",
+                        book.getBookId(), quantity, book.getBookQuantity());
+                throw new IllegalStateException("재고가 부족합니다. 현재 재고: " + book.getBookQuantity()
+                        + " BookId: " + book.getBookId());
+            }
+        }
+
+        books.forEach(book -> book.setBookQuantity(book.getBookQuantity() - quantities.get(book.getBookId())));
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "pessimistic";
+    }
+}
@@ -0,0 +1,34 @@
+package com.fastcampus.book_bot.service.stock;
+
+import com.fastcampus.book_bot.service.book.BookCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Redis Lua Script 차감
+ * - 도서 캐시 quantity를 원자적으로 차감하고 StockDeltaFlusher가 DB에 일괄 반영
+ * - 캐시되지 않은 도서가 있으면 IllegalArgumentException (DB 전략으로 폴백)
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisStockStrategy implements StockStrategy {
+
+    private final BookCacheService bookCacheService;
+
+    @Override
+    public void decrease(Map<Integer, Integer> quantities) {
+        bookCacheService.decrementBookQuantities(quantities);
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return "redis";
+    }
+}
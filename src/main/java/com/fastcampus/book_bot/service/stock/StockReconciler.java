@@ -0,0 +1,296 @@
+package com.fastcampus.book_bot.service.stock;
+
+import com.fastcampus.book_bot.service.book.BookCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Redis 캐시 재고와 DB 재고 정합성 점검 (book.stock.reconcile.enabled=true)
+ * - book:{id} 키를 SCAN으로 나누어 읽고 배치마다 IN 쿼리 한 번으로 DB 재고 조회
+ * - 기대 관계: DB 재고 - 미반영 차감 내역(stock:delta) = Redis 재고 (리스/샤드 수량은 양쪽 모두에서 이미 빠져 있음)
+ * - 차이는 지표(book.stock.reconcile.*)와 로그로 보고하고, 정책에 따라 보정
+ *   REPORT: 보고만 / DB_WINS: Redis 재고를 DB 기준으로 보정 / REDIS_WINS: 차감 내역 스트림으로 DB 보정
+ * - 주문 진행 중 읽기 시점 차이로 생기는 일시적 차이는 연속 두 번 같은 값으로 관측될 때만 보정
+ * - 배치 사이 대기로 Redis/DB 부하를 제한하고, 여러 노드 중 한 노드만 실행 (Redis 락)
+ */
+@Component
+@Slf4j
+public class StockReconciler {
+
+    public enum Policy {
+        REPORT, DB_WINS, REDIS_WINS
+    }
+
+    private static final String BOOK_CACHE = "book:";
+    private static final Pattern BOOK_KEY_PATTERN = Pattern.compile("^book:\\d+$");
+    private static final String LOCK_KEY = "lock:stock:reconcile";
+    private static final String SELECT_QUANTITY_SQL = "SELECT BOOK_ID, BOOK_QUANTITY FROM books WHERE BOOK_ID IN (%s)";
+
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "    return redis.call('DEL', KEYS[1]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> ADJUST_CACHE_SCRIPT = new DefaultRedisScript<>(
+            // 캐시된 도서만 차이만큼 증감 (SET이 아닌 HINCRBY로 동시 주문 차감분 보존)
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+                    "    return 0 " +
+                    "end " +
+                    "redis.call('HINCRBY', KEYS[1], 'quantity', ARGV[1]) " +
+                    "return 1",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Policy policy;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxPendingDeltas;
+    private final Duration lockTtl;
+
+    /** 직전 실행에서 관측된 도서별 차이 (연속 관측 확인용) */
+    private final Map<Integer, Integer> previousDrifts = new ConcurrentHashMap<>();
+    private final AtomicInteger lastDriftedBooks = new AtomicInteger();
+
+    private final Counter checkedCounter;
+    private final Counter driftedCounter;
+    private final Counter correctedCounter;
+    private final Counter driftUnitsCounter;
+
+    public StockReconciler(StringRedisTemplate stringRedisTemplate,
+                           JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${book.stock.reconcile.enabled:false}") boolean enabled,
+                           @Value("${book.stock.reconcile.policy:REPORT}") Policy policy,
+                           @Value("${book.stock.reconcile.batch-size:500}") int batchSize,
+                           @Value("${book.stock.reconcile.pause-ms:50}") long pauseMillis,
+                           @Value("${book.stock.reconcile.max-pending-deltas:10000}") int maxPendingDeltas,
+                           @Value("${book.stock.reconcile.lock-ttl-minutes:30}") long lockTtlMinutes) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.maxPendingDeltas = maxPendingDeltas;
+        this.lockTtl = Duration.ofMinutes(lockTtlMinutes);
+
+        this.checkedCounter = meterRegistry.counter("book.stock.reconcile.books", "result", "checked");
+        this.driftedCounter = meterRegistry.counter("book.stock.reconcile.books", "result", "drifted");
+        this.correctedCounter = meterRegistry.counter("book.stock.reconcile.books", "result", "corrected");
+        this.driftUnitsCounter = meterRegistry.counter("book.stock.reconcile.drift_units");
+        meterRegistry.gauge("book.stock.reconcile.last_drifted_books", lastDriftedBooks);
+    }
+
+    /**
+     * 재고 정합성 점검 실행
+     */
+    @Scheduled(fixedDelayString = "${book.stock.reconcile.interval-ms:600000}",
+            initialDelayString = "${book.stock.reconcile.initial-delay-ms:60000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+
+        String lockToken = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockToken, lockTtl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("다른 노드에서 재고 정합성 점검 진행 중");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            Map<Integer, Integer> drifts = new HashMap<>();
+            int checked = 0;
+
+            List<Integer> batch = new ArrayList<>(batchSize);
+            try (Cursor<String> cursor = stringRedisTemplate.scan(
+                    ScanOptions.scanOptions().match(BOOK_CACHE + "*").count(batchSize).build())) {
+                while (cursor.hasNext()) {
+                    String key = cursor.next();
+                    if (!BOOK_KEY_PATTERN.matcher(key).matches()) {
+                        continue;
+                    }
+
+                    batch.add(Integer.valueOf(key.substring(BOOK_CACHE.length())));
+                    if (batch.size() >= batchSize) {
+                        checked += compareBatch(batch, drifts);
+                        batch.clear();
+                        pause();
+                    }
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                checked += compareBatch(batch, drifts);
+            }
+
+            int corrected = correct(drifts);
+
+            lastDriftedBooks.set(drifts.size());
+            log.info("재고 정합성 점검 완료 - 점검: {}권, 차이: {}권, 보정: {}권, 정책: {}, 소요시간: {}ms",
+                    checked, drifts.size(), corrected, policy, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("재고 정합성 점검 실패", e);
+        } finally {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_KEY), lockToken);
+        }
+    }
+
+    /**
+     * 배치 단위 비교 (Redis 파이프라인 HGET 한 번 + 미반영 내역 조회 + DB IN 쿼리 한 번)
+     * - Redis -> 미반영 내역 -> DB 순서로 읽어 배치 사이 Flusher 반영분이 섞이지 않도록 함
+     * @return 비교한 도서 수
+     */
+    private int compareBatch(List<Integer> bookIds, Map<Integer, Integer> drifts) {
+        List<Object> cached = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Integer bookId : bookIds) {
+                connection.hashCommands().hGet(bytes(BOOK_CACHE + bookId), bytes("quantity"));
+            }
+            return null;
+        });
+
+        Map<Integer, Integer> pendingDeltas = loadPendingDeltas();
+        if (pendingDeltas == null) {
+            log.warn("미반영 재고 차감 내역이 {}건 이상 - 배치 점검 생략", maxPendingDeltas);
+            return 0;
+        }
+
+        Map<Integer, Integer> dbQuantities = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(bookIds.size(), "?"));
+        jdbcTemplate.query(String.format(SELECT_QUANTITY_SQL, placeholders),
+                rs -> {
+                    dbQuantities.put(rs.getInt("BOOK_ID"), rs.getInt("BOOK_QUANTITY"));
+                }, bookIds.toArray());
+
+        int compared = 0;
+        for (int i = 0; i < bookIds.size(); i++) {
+            Integer bookId = bookIds.get(i);
+            Object value = cached.get(i);
+            Integer dbQuantity = dbQuantities.get(bookId);
+
+            // 점검 중 만료되었거나 DB에서 삭제된 도서는 제외
+            if (value == null || dbQuantity == null) {
+                continue;
+            }
+
+            int redisQuantity = Integer.parseInt(value.toString());
+            int expected = dbQuantity - pendingDeltas.getOrDefault(bookId, 0);
+            compared++;
+
+            if (redisQuantity != expected) {
+                drifts.put(bookId, redisQuantity - expected);
+            }
+        }
+
+        checkedCounter.increment(compared);
+        return compared;
+    }
+
+    /**
+     * 정책에 따른 보정 - 직전 실행과 같은 차이가 관측된 도서만 보정
+     * @return 보정한 도서 수
+     */
+    private int correct(Map<Integer, Integer> drifts) {
+        Map<Integer, Integer> previousDriftsSnapshot = Map.copyOf(previousDrifts);
+        int corrected = 0;
+
+        for (Map.Entry<Integer, Integer> entry : drifts.entrySet()) {
+            Integer bookId = entry.getKey();
+            int drift = entry.getValue();
+
+            driftedCounter.increment();
+            driftUnitsCounter.increment(Math.abs(drift));
+            log.warn("재고 불일치 - BookId: {}, 차이(Redis - DB): {}", bookId, drift);
+
+            if (policy == Policy.REPORT || !Integer.valueOf(drift).equals(previousDriftsSnapshot.get(bookId))) {
+                continue;
+            }
+
+            if (policy == Policy.DB_WINS) {
+                stringRedisTemplate.execute(ADJUST_CACHE_SCRIPT,
+                        List.of(BOOK_CACHE + bookId), String.valueOf(-drift));
+            } else {
+                // DB 재고를 Redis 기준으로 맞추도록 차감 내역 기록 (StockDeltaFlusher가 반영)
+                stringRedisTemplate.opsForStream().add(BookCacheService.STOCK_DELTA_STREAM,
+                        Map.of("bookId", String.valueOf(bookId), "quantity", String.valueOf(-drift)));
+            }
+
+            corrected++;
+            correctedCounter.increment();
+            log.warn("재고 보정 - BookId: {}, 보정량: {}, 정책: {}", bookId, -drift, policy);
+        }
+
+        // 보정한 도서는 다음 실행에서 다시 연속 관측을 확인하도록 제외
+        previousDrifts.clear();
+        drifts.forEach((bookId, drift) -> {
+            if (policy == Policy.REPORT || !drift.equals(previousDriftsSnapshot.get(bookId))) {
+                previousDrifts.put(bookId, drift);
+            }
+        });
+        return corrected;
+    }
+
+    /**
+     * DB에 아직 반영되지 않은 도서별 차감 수량 합계
+     * @return 미반영 내역이 너무 많으면 null (Flusher 지연 중에는 점검 생략)
+     */
+    private Map<Integer, Integer> loadPendingDeltas() {
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .range(BookCacheService.STOCK_DELTA_STREAM, Range.unbounded(), Limit.limit().count(maxPendingDeltas));
+
+        if (records != null && records.size() >= maxPendingDeltas) {
+            return null;
+        }
+
+        Map<Integer, Integer> pending = new HashMap<>();
+        if (records != null) {
+            for (MapRecord<String, Object, Object> record : records) {
+                pending.merge(Integer.valueOf((String) record.getValue().get("bookId")),
+                        Integer.valueOf((String) record.getValue().get("quantity")), Integer::sum);
+            }
+        }
+        return pending;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,20 @@
+package com.fastcampus.book_bot.service.stock;
+
+import java.util.Map;
+
+/**
+ * 재고 차감 전략
+ * - 전체 항목을 모두 차감하거나 하나도 차감하지 않음 (all-or-nothing)
+ * - 재고 부족 시 IllegalStateException, 재고 정보가 없으면 IllegalArgumentException
+ */
+public interface StockStrategy {
+
+    void decrease(Map<Integer, Integer> quantities);
+
+    /**
+     * DB에 즉시 반영되는지 여부 (false이면 write-behind로 DB 반영)
+     */
+    boolean isDurable();
+
+    String getName();
+}
@@ -0,0 +1,59 @@
+package com.fastcampus.book_bot.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 배포별 재고 차감 전략 선택
+ * - book.stock.strategy: 기본 전략 (redis, conditional, pessimistic, optimistic)
+ * - book.stock.fallback-strategy: 기본 전략이 write-behind일 때 재고 정보가 없으면 사용할 DB 전략
+ */
+@Component
+@Slf4j
+public class StockStrategyFactory {
+
+    private final Map<String, StockStrategy> strategies;
+    private final StockStrategy strategy;
+    private final StockStrategy fallbackStrategy;
+
+    public StockStrategyFactory(List<StockStrategy> strategies,
+                                @Value("${book.stock.strategy:redis}") String strategyName,
+                                @Value("${book.stock.fallback-strategy:conditional}") String fallbackStrategyName) {
+        this.strategies = strategies.stream()
+                .collect(Collectors.toUnmodifiableMap(StockStrategy::getName, Function.identity()));
+        this.strategy = getStrategy(strategyName);
+        this.fallbackStrategy = getStrategy(fallbackStrategyName);
+
+        if (!fallbackStrategy.isDurable()) {
+            throw new IllegalStateException("폴백 재고 전략은 DB 전략이어야 합니다: " + fallbackStrategyName);
+        }
+
+        log.info("재고 차감 전략 - 기본: {}, 폴백: {}", strategy.getName(), fallbackStrategy.getName());
+    }
+
+    public StockStrategy getStrategy() {
+        return strategy;
+    }
+
+    public StockStrategy getFallbackStrategy() {
+        return fallbackStrategy;
+    }
+
+    public StockStrategy getStrategy(String name) {
+        StockStrategy found = strategies.get(name);
+        if (found == null) {
+            throw new IllegalArgumentException("지원하지 않는 재고 전략입니다: " + name);
+        }
+        return found;
+    }
+
+    public Map<String, StockStrategy> getStrategies() {
+        return strategies;
+    }
+}
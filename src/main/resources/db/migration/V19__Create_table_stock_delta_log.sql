@@ -0,0 +1,8 @@
+CREATE TABLE stock_delta_log (
+    DELTA_ID VARCHAR(40) NOT NULL PRIMARY KEY,
+    BOOK_ID INT NOT NULL,
+    QUANTITY INT NOT NULL,
+    CREATED_AT DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    INDEX IDX_STOCK_DELTA_LOG_CREATED_AT (CREATED_AT)
+);
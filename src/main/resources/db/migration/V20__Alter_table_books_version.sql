@@ -0,0 +1,2 @@
+ALTER TABLE `books`
+    ADD COLUMN `BOOK_VERSION` BIGINT NOT NULL DEFAULT 0 AFTER `BOOK_QUANTITY`;
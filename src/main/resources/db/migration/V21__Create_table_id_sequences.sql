@@ -0,0 +1,17 @@
+-- 주문/주문상품 ID 블록 할당 테이블 (NEXT_VAL은 마지막 사용 값, 다음 블록은 NEXT_VAL + 1부터 - IdBlockRepository, stored_last_used)
+CREATE TABLE `id_sequences` (
+    `SEQUENCE_NAME` VARCHAR(64) NOT NULL,
+    `NEXT_VAL` BIGINT NOT NULL,
+    PRIMARY KEY (`SEQUENCE_NAME`)
+);
+
+INSERT INTO `id_sequences` (`SEQUENCE_NAME`, `NEXT_VAL`)
+SELECT 'orders', COALESCE(MAX(`ORDER_ID`), 0) FROM `orders`;
+
+INSERT INTO `id_sequences` (`SEQUENCE_NAME`, `NEXT_VAL`)
+SELECT 'order_book', COALESCE(MAX(`ORDER_BOOK_ID`), 0) FROM `order_book`;
+
+-- 비동기 주문 접수 건의 중복 저장 방지 키
+ALTER TABLE `orders`
+    ADD COLUMN `ORDER_KEY` VARCHAR(40) NULL AFTER `ORDER_ID`,
+    ADD UNIQUE INDEX `UK_ORDERS_ORDER_KEY` (`ORDER_KEY`);
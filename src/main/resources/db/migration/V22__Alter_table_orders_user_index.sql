@@ -0,0 +1,3 @@
+-- 등급 재계산 집계용 커버링 인덱스 (사용자 범위별 주문 금액/건수를 테이블 행 접근 없이 집계)
+ALTER TABLE `orders`
+    ADD INDEX `IDX_ORDERS_USER_DATE_PRICE` (`USER_ID`, `ORDER_DATE`, `TOTAL_PRICE`);
@@ -0,0 +1,53 @@
+package com.fastcampus.book_bot.repository;
+
+import com.fastcampus.book_bot.domain.orders.Orders;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class IdBlockRepositoryTests {
+
+    @Autowired
+    private IdBlockRepository idBlockRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * JPA @TableGenerator 경로와 주문 접수(IdBlockRepository) 경로를 번갈아 할당해도 ID가 겹치지 않아야 함
+     */
+    @Test
+    void allocateDoesNotOverlapWithTableGenerator() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Orders.class)
+                .getGenerator();
+
+        Set<Long> ids = new HashSet<>();
+        try (SessionImplementor session = (SessionImplementor) sessionFactory.openSession()) {
+            for (int round = 0; round < 4; round++) {
+                // 블록 경계를 넘도록 JPA 할당 크기(50)와 다른 개수로 번갈아 할당
+                int jpaCount = round % 2 == 0 ? 1 : 60;
+                for (int i = 0; i < jpaCount; i++) {
+                    long id = ((Number) generator.generate(session, null)).longValue();
+                    assertThat(ids.add(id)).as("JPA 경로 중복 ID: %d", id).isTrue();
+                }
+
+                long start = idBlockRepository.allocate("orders", 30);
+                for (long id = start; id < start + 30; id++) {
+                    assertThat(ids.add(id)).as("주문 접수 경로 중복 ID: %d", id).isTrue();
+                }
+            }
+        }
+    }
+}
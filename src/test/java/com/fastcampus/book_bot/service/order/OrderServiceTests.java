@@ -0,0 +1,102 @@
+package com.fastcampus.book_bot.service.order;
+
+import com.fastcampus.book_bot.domain.book.Book;
+import com.fastcampus.book_bot.domain.user.User;
+import com.fastcampus.book_bot.dto.order.CartOrderDTO;
+import com.fastcampus.book_bot.dto.order.OrdersDTO;
+import com.fastcampus.book_bot.repository.BookRepository;
+import com.fastcampus.book_bot.repository.UserRepository;
+import com.fastcampus.book_bot.service.book.BookCacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "book.stock.strategy=redis",
+        "order.ingest.enabled=false"
+})
+class OrderServiceTests {
+
+    private static final int PRICE = 10_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookCacheService bookCacheService;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Integer bookId;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+
+        Book book = bookRepository.save(Book.builder()
+                .bookName("order-service-test")
+                .bookDiscount(PRICE)
+                .bookQuantity(100)
+                .bookVersion(0L)
+                .build());
+        bookId = book.getBookId();
+        bookCacheService.setBookRedis(bookId, book);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE o, ob FROM orders o JOIN order_book ob ON o.ORDER_ID = ob.ORDER_ID WHERE ob.BOOK_ID = ?", bookId);
+        stringRedisTemplate.delete("book:" + bookId);
+        bookRepository.deleteById(bookId);
+    }
+
+    /**
+     * Redis 재고 경로 단건 주문 - 캐시에서 만든 Book(버전 없음)이 주문상품에 연결되어도 저장되어야 함
+     */
+    @Test
+    void saveOrderWithRedisStock() {
+        orderService.saveOrder(user, OrdersDTO.builder()
+                .bookId(bookId)
+                .quantity(1)
+                .price(PRICE)
+                .build());
+
+        assertThat(countOrderBooks()).isEqualTo(1);
+    }
+
+    /**
+     * Redis 재고 경로 장바구니 주문
+     */
+    @Test
+    void saveCartOrderWithRedisStock() {
+        orderService.saveCartOrder(user, CartOrderDTO.builder()
+                .items(List.of(OrdersDTO.builder().bookId(bookId).quantity(2).build()))
+                .build());
+
+        assertThat(countOrderBooks()).isEqualTo(1);
+    }
+
+    private Integer countOrderBooks() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_book WHERE BOOK_ID = ?", Integer.class, bookId);
+    }
+}